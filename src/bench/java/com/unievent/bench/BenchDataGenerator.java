@@ -0,0 +1,225 @@
+package com.unievent.bench;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic data set for the benchmarks: the same Scale always produces the same rows,
+ * so numbers from two runs (or two commits) are comparable.
+ */
+public class BenchDataGenerator {
+
+    private static final String[] WORDS = {
+            "annual", "career", "fair", "robotics", "workshop", "hackathon", "music", "festival",
+            "cultural", "night", "guest", "lecture", "series", "startup", "pitch", "competition",
+            "science", "exhibition", "sports", "meet", "charity", "run", "film", "screening",
+            "debate", "club", "orientation", "freshers", "alumni", "networking", "coding", "bootcamp",
+            "art", "gallery", "photography", "walk", "drama", "society", "open", "day", "research",
+            "symposium", "engineering", "week", "medical", "camp", "blood", "donation", "drive",
+            "environment", "tree", "planting", "chess", "tournament", "quiz", "games", "dance",
+            "concert", "poetry", "reading", "book", "launch", "mathematics", "olympiad", "physics",
+            "chemistry", "biology", "seminar", "design", "thinking", "leadership", "summit", "finance",
+            "investment", "talk", "language", "exchange", "volunteer", "orientation", "internship",
+            "panel", "discussion", "machine", "learning", "data", "analytics", "cloud", "security",
+            "mobile", "web", "development", "entrepreneurship", "innovation", "challenge", "awards",
+            "ceremony", "graduation", "gala", "dinner", "food", "market", "cricket", "football",
+            "rugby", "swimming", "athletics", "yoga", "meditation", "wellness", "mental", "health"
+    };
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2021, 1, 1, 8, 0);
+    private static final int BATCH = 1_000;
+
+    /** Size of the generated data set; everything scales from the number of events. */
+    public static class Scale {
+        public final int events;
+        public final int users;
+        public final int categories = 20;
+        public final int venues = 200;
+        public final int departments = 15;
+        public final int attendsPerEvent = 8;
+        public final int commentsPerEvent = 5;
+        public final int donationsPerEvent = 3;
+        public final long seed = 42L;
+
+        public Scale(int events) {
+            this.events = events;
+            this.users = Math.max(1_000, events / 2);
+        }
+    }
+
+    private final Scale scale;
+    private final Random random;
+
+    public BenchDataGenerator(Scale scale) {
+        this.scale = scale;
+        this.random = new Random(scale.seed);
+    }
+
+    public void populate(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            insertNamed(conn, "INSERT INTO Department (dept_id, dept_name) VALUES (?, ?)", scale.departments, "Department ");
+            insertNamed(conn, "INSERT INTO Category (cat_id, cat_name) VALUES (?, ?)", scale.categories, "Category ");
+            insertVenues(conn);
+            insertUsers(conn);
+            insertEventsWithActivity(conn);
+            insertDonationSummaries(conn);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void insertNamed(Connection conn, String sql, int count, String prefix) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                stmt.setInt(1, i);
+                stmt.setString(2, prefix + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void insertVenues(Connection conn) throws SQLException {
+        String sql = "INSERT INTO Venue (venue_id, venue_name, location, capacity) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= scale.venues; i++) {
+                stmt.setInt(1, i);
+                stmt.setString(2, "Hall " + i);
+                stmt.setString(3, "Building " + (1 + i % 40));
+                stmt.setInt(4, 30 + random.nextInt(970));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void insertUsers(Connection conn) throws SQLException {
+        String sql = "INSERT INTO User (user_id, email, password, user_name, phone) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= scale.users; i++) {
+                stmt.setInt(1, i);
+                stmt.setString(2, "user" + i + "@uni.test");
+                stmt.setString(3, "secret");
+                stmt.setString(4, "User " + i);
+                stmt.setString(5, "07" + (10_000_000 + i));
+                stmt.addBatch();
+                if (i % BATCH == 0) stmt.executeBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO Admin (user_id) VALUES (1)")) {
+            stmt.executeUpdate();
+        }
+    }
+
+    private void insertEventsWithActivity(Connection conn) throws SQLException {
+        String sqlEvent = "INSERT INTO Event (event_id, user_id, venue_id, cat_id, title, description, " +
+                          "start, end, max_attendees, status, attendee_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sqlAttends = "INSERT INTO Attends (user_id, event_id, rsvp_status, rsvp_date) VALUES (?, ?, ?, ?)";
+        String sqlComment = "INSERT INTO Comment (user_id, event_id, content, posted_at) VALUES (?, ?, ?, ?)";
+        String sqlDonation = "INSERT INTO Donation (user_id, event_id, amount, donation_date) VALUES (?, ?, ?, ?)";
+
+        try (PreparedStatement events = conn.prepareStatement(sqlEvent);
+             PreparedStatement attends = conn.prepareStatement(sqlAttends);
+             PreparedStatement comments = conn.prepareStatement(sqlComment);
+             PreparedStatement donations = conn.prepareStatement(sqlDonation)) {
+
+            for (int eventId = 1; eventId <= scale.events; eventId++) {
+                LocalDateTime start = EPOCH.plusMinutes(random.nextInt(5 * 365 * 24 * 60));
+                Timestamp created = Timestamp.valueOf(start.minusDays(1 + random.nextInt(60)));
+
+                // RSVPs first so the event row carries the matching attendee_count
+                int going = 0;
+                int firstUser = 1 + random.nextInt(scale.users);
+                int rsvps = random.nextInt(2 * scale.attendsPerEvent + 1);
+                for (int k = 0; k < rsvps; k++) {
+                    int userId = 1 + (firstUser + k * 7919) % scale.users; // distinct within one event
+                    int roll = random.nextInt(10);
+                    String status = roll < 7 ? "GOING" : roll < 9 ? "MAYBE" : "NOT_GOING";
+                    if (status.equals("GOING")) going++;
+                    attends.setInt(1, userId);
+                    attends.setInt(2, eventId);
+                    attends.setString(3, status);
+                    attends.setTimestamp(4, created);
+                    attends.addBatch();
+                }
+
+                int roll = random.nextInt(10);
+                events.setInt(1, eventId);
+                events.setInt(2, 1 + random.nextInt(scale.users));
+                events.setInt(3, 1 + random.nextInt(scale.venues));
+                events.setInt(4, 1 + random.nextInt(scale.categories));
+                events.setString(5, words(3 + random.nextInt(3)));
+                events.setString(6, words(20 + random.nextInt(30)));
+                events.setObject(7, start);
+                events.setObject(8, start.plusHours(1 + random.nextInt(4)));
+                events.setInt(9, Math.max(going, 20 + random.nextInt(480)));
+                events.setString(10, roll < 8 ? "APPROVED" : roll < 9 ? "PENDING" : "REJECTED");
+                events.setInt(11, going);
+                events.addBatch();
+
+                int commentCount = random.nextInt(2 * scale.commentsPerEvent + 1);
+                for (int k = 0; k < commentCount; k++) {
+                    comments.setInt(1, 1 + random.nextInt(scale.users));
+                    comments.setInt(2, eventId);
+                    comments.setString(3, words(5 + random.nextInt(20)));
+                    comments.setTimestamp(4, Timestamp.valueOf(start.minusHours(random.nextInt(24 * 30))));
+                    comments.addBatch();
+                }
+
+                int donationCount = random.nextInt(2 * scale.donationsPerEvent + 1);
+                for (int k = 0; k < donationCount; k++) {
+                    donations.setInt(1, 1 + random.nextInt(scale.users));
+                    donations.setInt(2, eventId);
+                    donations.setBigDecimal(3, BigDecimal.valueOf(100 + random.nextInt(999_900), 2));
+                    donations.setTimestamp(4, Timestamp.valueOf(start.minusMinutes(random.nextInt(60 * 24 * 30))));
+                    donations.addBatch();
+                }
+
+                if (eventId % BATCH == 0) {
+                    events.executeBatch();
+                    attends.executeBatch();
+                    comments.executeBatch();
+                    donations.executeBatch();
+                    conn.commit();
+                }
+            }
+            events.executeBatch();
+            attends.executeBatch();
+            comments.executeBatch();
+            donations.executeBatch();
+        }
+    }
+
+    // Same backfill as migration 007
+    private void insertDonationSummaries(Connection conn) throws SQLException {
+        String sql = "INSERT INTO DonationSummary (event_id, donation_count, total_amount, max_amount) " +
+                     "SELECT event_id, COUNT(*), SUM(amount), MAX(amount) FROM Donation GROUP BY event_id";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.executeUpdate();
+        }
+    }
+
+    // Skewed word choice so some terms are common and most are rare, like real titles
+    private String words(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            double r = random.nextDouble();
+            int idx = (int) (r * r * WORDS.length);
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[idx]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package com.unievent.bench;
+
+import com.unievent.dao.AdminDAO;
+import com.unievent.dao.DonationDAO;
+import com.unievent.dao.EventAdvancedDAO;
+import com.unievent.dao.InteractionDAO;
+import com.unievent.model.Comment;
+import com.unievent.model.Event;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the DAO hot paths against the embedded database.
+ *
+ *   mvn -Pbench compile exec:exec -Djmh.args="DaoBenchmarks -p events=50000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmarks {
+
+    @Param({"10000"})
+    public int events;
+
+    private BenchDataGenerator.Scale scale;
+    private final EventAdvancedDAO eventDAO = new EventAdvancedDAO();
+    private final InteractionDAO interactionDAO = new InteractionDAO();
+    private final DonationDAO donationDAO = new DonationDAO();
+    private final AdminDAO adminDAO = new AdminDAO();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        scale = new BenchDataGenerator.Scale(events);
+        EmbeddedDatabase.start(scale);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmbeddedDatabase.stop();
+    }
+
+    // Per-thread ids so threads don't all hammer the same rows
+    @State(Scope.Thread)
+    public static class Ids {
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        int event(DaoBenchmarks b) {
+            return 1 + random.nextInt(b.scale.events);
+        }
+
+        int user(DaoBenchmarks b) {
+            return 1 + random.nextInt(b.scale.users);
+        }
+
+        boolean coin() {
+            return random.nextBoolean();
+        }
+    }
+
+    @Benchmark
+    public List<Event> searchEvents() {
+        return eventDAO.searchEvents(null, null, "festival");
+    }
+
+    @Benchmark
+    public List<Event> searchEventsByCategory(Ids ids) {
+        return eventDAO.searchEvents(1 + ids.event(this) % scale.categories, null, null);
+    }
+
+    @Benchmark
+    public EventAdvancedDAO.EventPage searchEventsFirstPage() {
+        return eventDAO.searchEventsPage(null, null, null, null, 20);
+    }
+
+    @Benchmark
+    public Event getEventDetails(Ids ids) {
+        return eventDAO.getEventDetails(ids.event(this));
+    }
+
+    @Benchmark
+    public boolean toggleRSVP(Ids ids) {
+        return interactionDAO.toggleRSVP(ids.user(this), ids.event(this), ids.coin() ? "MAYBE" : "NOT_GOING");
+    }
+
+    @Benchmark
+    public List<Comment> getCommentsForEvent(Ids ids) {
+        return interactionDAO.getCommentsForEvent(ids.event(this));
+    }
+
+    @Benchmark
+    public boolean addDonation(Ids ids) {
+        return donationDAO.addDonation(ids.user(this), ids.event(this), new BigDecimal("25.00"));
+    }
+
+    @Benchmark
+    public int[] getSystemStats() {
+        return adminDAO.getSystemStats();
+    }
+}
@@ -0,0 +1,109 @@
+package com.unievent.bench;
+
+import com.unievent.config.DBConnection;
+import com.unievent.dao.DonationDAO;
+import com.unievent.metrics.LatencyHistogram;
+import com.unievent.service.DonationIngestor;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Campaign-day load on DonationDAO.addDonation with idempotency keys: N concurrent clients give
+ * to a few hot events, and a share of requests is sent twice (a client retry) with the same key.
+ * Checks that every retry was suppressed (Donation grows by exactly the unique donations) and
+ * that DonationSummary matches Donation, then prints the ingestor's commit latency and counters.
+ * Exits 1 on any mismatch.
+ *
+ *   mvn -Pbench compile exec:exec -Dbench.main=com.unievent.bench.DonationIngestLoadHarness \
+ *       -Djmh.args="64 2000 0.2"
+ *
+ * Arguments: clients (64), donations per client (2000), retry share (0.2).
+ */
+public class DonationIngestLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int perClient = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        double retryShare = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+
+        BenchDataGenerator.Scale scale = new BenchDataGenerator.Scale(10_000);
+        EmbeddedDatabase.start(scale);
+        long before = count("SELECT COUNT(*) FROM Donation");
+        DonationDAO.getDonationIngestor().start();
+
+        DonationDAO donationDAO = new DonationDAO();
+        AtomicLong errors = new AtomicLong();
+        LatencyHistogram callLatency = new LatencyHistogram();
+
+        long t0 = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<?>> running = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            running.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(client);
+                int userId = 1 + client % scale.users;
+                for (int i = 0; i < perClient; i++) {
+                    String key = "client-" + client + "-" + i;
+                    int eventId = 1 + random.nextInt(20); // a handful of hot fundraisers
+                    BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(99_900), 2);
+                    int sends = random.nextDouble() < retryShare ? 2 : 1;
+                    for (int s = 0; s < sends; s++) {
+                        long start = System.nanoTime();
+                        String outcome = donationDAO.addDonation(userId, eventId, amount, key);
+                        callLatency.recordNanos(System.nanoTime() - start);
+                        if (DonationIngestor.ERROR.equals(outcome)) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : running) {
+            f.get();
+        }
+        executor.shutdown();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        DonationDAO.getDonationIngestor().stop();
+
+        long added = count("SELECT COUNT(*) FROM Donation") - before;
+        long expected = (long) clients * perClient;
+        long summaryDrift = count("SELECT COUNT(*) FROM DonationSummary s " +
+                "JOIN (SELECT event_id, COUNT(*) AS n, SUM(amount) AS total FROM Donation GROUP BY event_id) d " +
+                "ON d.event_id = s.event_id WHERE s.donation_count <> d.n OR s.total_amount <> d.total");
+
+        DonationIngestor.IngestStats stats = DonationDAO.getDonationIngestor().getStats();
+        LatencyHistogram.Snapshot call = callLatency.snapshot();
+        System.out.printf("%d clients x %d donations (%.0f%% retried) in %.1f s: %.0f calls/s%n",
+                clients, perClient, retryShare * 100, seconds, call.count / seconds);
+        System.out.printf("rows added %d (expected %d), summary rows off %d, errors %d%n",
+                added, expected, summaryDrift, errors.get());
+        System.out.printf("accepted %d, duplicates in memory %d, in database %d, batches %d (%.1f per batch), rejected %d%n",
+                stats.accepted, stats.duplicatesInMemory, stats.duplicatesInDatabase, stats.batches,
+                stats.batches == 0 ? 0.0 : stats.accepted / (double) stats.batches, stats.rejected);
+        System.out.printf("commit latency p50 %d us, p99 %d us; batch transaction p50 %d us, p99 %d us%n",
+                stats.commitLatency.percentileMicros(0.50), stats.commitLatency.percentileMicros(0.99),
+                stats.batchTime.percentileMicros(0.50), stats.batchTime.percentileMicros(0.99));
+
+        EmbeddedDatabase.stop();
+        System.exit(added == expected && summaryDrift == 0 && errors.get() == 0 ? 0 : 1);
+    }
+
+    private static long count(String sql) throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.unievent.bench;
+
+import com.unievent.config.DBConnection;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Points DBConnection at an in-memory H2 database in MySQL mode, creates the schema
+ * and seeds it with BenchDataGenerator. One database per JVM (JMH forks give each
+ * benchmark its own).
+ */
+public class EmbeddedDatabase {
+
+    // USER/END/VALUE are H2 keywords but plain column/table names in our MySQL schema.
+    // Row-lock waits up to 10 s (InnoDB allows 50 s; H2's 1 s default fails hot-row load tests)
+    private static final String URL =
+            "jdbc:h2:mem:unievent_bench;DB_CLOSE_DELAY=-1;MODE=MySQL;NON_KEYWORDS=USER,END,VALUE;LOCK_TIMEOUT=10000";
+
+    private static boolean started = false;
+
+    public static synchronized void start(BenchDataGenerator.Scale scale) throws SQLException, IOException {
+        if (started) {
+            return;
+        }
+        // Must be set before the first DBConnection.getConnection() builds the pool
+        System.setProperty("unievent.db.url", URL);
+        System.setProperty("unievent.db.username", "sa");
+        System.setProperty("unievent.db.password", "");
+        System.setProperty("unievent.db.pool.leakDetectionThresholdMillis", "0");
+
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Could not open the embedded database");
+            }
+            // The in-memory database outlives stop() (DB_CLOSE_DELAY=-1); start each run from an empty one,
+            // e.g. when several test classes share a JVM
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS");
+            }
+            runScript(conn, "/bench-schema.sql");
+            new BenchDataGenerator(scale).populate(conn);
+        }
+        started = true;
+    }
+
+    public static synchronized void stop() {
+        DBConnection.shutdown();
+        started = false;
+    }
+
+    private static void runScript(Connection conn, String resource) throws SQLException, IOException {
+        InputStream in = EmbeddedDatabase.class.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Missing " + resource + " on the classpath");
+        }
+        StringBuilder script = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().startsWith("--")) {
+                    script.append(line).append('\n');
+                }
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : script.toString().split(";")) {
+                if (!sql.isBlank()) {
+                    stmt.execute(sql);
+                }
+            }
+        }
+    }
+}
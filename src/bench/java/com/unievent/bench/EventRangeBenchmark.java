@@ -0,0 +1,89 @@
+package com.unievent.bench;
+
+import com.unievent.config.DBConnection;
+import com.unievent.dao.EventAdvancedDAO;
+import com.unievent.model.Event;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Date-range listing (EventAdvancedDAO.getEventsBetween) with and without idx_event_status_start.
+ * indexed=false drops the index after loading, which is the table before migration 006: every
+ * range query scans all events. Each window starts at a random point in the generated five years.
+ *
+ *   mvn -Pbench compile exec:exec -Djmh.args="EventRangeBenchmark"
+ *   mvn -Pbench compile exec:exec -Djmh.args="EventRangeBenchmark -p events=100000"   (quicker)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EventRangeBenchmark {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    @Param({"1000000"})
+    public int events;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Param({"1", "30"})
+    public int days;
+
+    private final EventAdvancedDAO eventDAO = new EventAdvancedDAO();
+    private BenchDataGenerator.Scale scale;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        scale = new BenchDataGenerator.Scale(events);
+        EmbeddedDatabase.start(scale);
+        if (!indexed) {
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP INDEX idx_event_status_start");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmbeddedDatabase.stop();
+    }
+
+    @Benchmark
+    public List<Event> allVenues() {
+        LocalDateTime from = nextFrom();
+        return eventDAO.getEventsBetween(from, from.plusDays(days), null, null);
+    }
+
+    @Benchmark
+    public List<Event> oneVenue() {
+        LocalDateTime from = nextFrom();
+        return eventDAO.getEventsBetween(from, from.plusDays(days), 1 + random.nextInt(scale.venues), null);
+    }
+
+    private LocalDateTime nextFrom() {
+        return FIRST.plusHours(random.nextInt(5 * 365 * 24 - days * 24));
+    }
+}
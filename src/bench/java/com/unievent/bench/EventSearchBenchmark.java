@@ -0,0 +1,92 @@
+package com.unievent.bench;
+
+import com.unievent.dao.EventAdvancedDAO;
+import com.unievent.model.Event;
+import com.unievent.search.EventSearchBackend;
+import com.unievent.search.SearchableEvent;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Keyword search: in-process inverted index vs. the old LIKE '%kw%' scan.
+ * Each benchmark runs in its own fork, so the SQL variant can switch the DAO to a
+ * backend that never becomes ready without affecting the index variant.
+ *
+ * Defaults to the 1M-event comparison the index was built for; pass -p events=100000 for a quick run.
+ *
+ *   mvn -Pbench compile exec:exec -Djmh.args="EventSearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class EventSearchBenchmark {
+
+    @Param({"1000000"})
+    public int events;
+
+    // Two indexed words, one word, a prefix, and a mixed query whose "C++" is matched with LIKE
+    @Param({"robotics workshop", "festival", "symp", "C++ workshop"})
+    public String keyword;
+
+    private final EventAdvancedDAO eventDAO = new EventAdvancedDAO();
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) throws Exception {
+        EmbeddedDatabase.start(new BenchDataGenerator.Scale(events));
+        if (params.getBenchmark().endsWith("sqlLike")) {
+            EventAdvancedDAO.setSearchBackend(NEVER_READY);
+        } else {
+            eventDAO.rebuildSearchIndex();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmbeddedDatabase.stop();
+    }
+
+    @Benchmark
+    public List<Event> indexed() {
+        return eventDAO.searchEvents(null, null, keyword);
+    }
+
+    @Benchmark
+    public List<Event> indexedRankedTop20() {
+        return eventDAO.searchEventsRanked(null, null, keyword, 20);
+    }
+
+    @Benchmark
+    public List<Event> sqlLike() {
+        return eventDAO.searchEvents(null, null, keyword);
+    }
+
+    // Forces EventAdvancedDAO onto its LIKE fallback
+    private static final EventSearchBackend NEVER_READY = new EventSearchBackend() {
+        @Override public boolean isReady() { return false; }
+        @Override public void rebuild(List<SearchableEvent> events) { }
+        @Override public void upsert(SearchableEvent event) { }
+        @Override public void updateStatus(int eventId, String status) { }
+        @Override public void remove(int eventId) { }
+        @Override public List<Integer> search(String query, Integer categoryId, Integer venueId, int limit) {
+            return Collections.emptyList();
+        }
+    };
+}
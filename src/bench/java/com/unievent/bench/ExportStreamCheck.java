@@ -0,0 +1,77 @@
+package com.unievent.bench;
+
+import com.unievent.config.DBConnection;
+import com.unievent.dao.DonationDAO;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time to first row, total time and heap growth of a large streaming export
+ * (DonationDAO.streamDonationsForEvent, the query behind /admin/export?type=donations).
+ * Seeds one event with N donations first. The rows are counted and dropped, as the servlet
+ * does after writing them.
+ *
+ *   mvn -Pbench compile exec:exec -Dbench.main=com.unievent.bench.ExportStreamCheck -Djmh.args="500000"
+ *
+ * Against MySQL, streaming also needs useCursorFetch (on by default, unievent.db.useCursorFetch).
+ */
+public class ExportStreamCheck {
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+
+        BenchDataGenerator.Scale scale = new BenchDataGenerator.Scale(10_000);
+        EmbeddedDatabase.start(scale);
+        int eventId = 1;
+        seed(eventId, rows, scale.users);
+
+        DonationDAO donationDAO = new DonationDAO();
+        Runtime rt = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = rt.totalMemory() - rt.freeMemory();
+        AtomicLong firstRowNanos = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong(heapBefore);
+
+        long t0 = System.nanoTime();
+        int delivered = donationDAO.streamDonationsForEvent(eventId, d -> {
+            if (firstRowNanos.get() == 0) {
+                firstRowNanos.set(System.nanoTime() - t0);
+            }
+            if ((d.getDonationId() & 0xFFF) == 0) {
+                peakHeap.accumulateAndGet(rt.totalMemory() - rt.freeMemory(), Math::max);
+            }
+        });
+        long total = System.nanoTime() - t0;
+
+        System.out.printf("%d rows: first row after %.1f ms, all after %.0f ms, heap growth up to %d MB%n",
+                delivered, firstRowNanos.get() / 1e6, total / 1e6, (peakHeap.get() - heapBefore) >> 20);
+        EmbeddedDatabase.stop();
+    }
+
+    private static void seed(int eventId, int rows, int users) throws Exception {
+        String sql = "INSERT INTO Donation (user_id, event_id, amount, donation_date) VALUES (?, ?, ?, ?)";
+        Timestamp at = Timestamp.valueOf(LocalDateTime.of(2024, 9, 1, 12, 0));
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            for (int i = 0; i < rows; i++) {
+                stmt.setInt(1, 1 + i % users);
+                stmt.setInt(2, eventId);
+                stmt.setBigDecimal(3, BigDecimal.valueOf(500 + i % 10_000, 2));
+                stmt.setTimestamp(4, at);
+                stmt.addBatch();
+                if (i % 5_000 == 4_999) {
+                    stmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            stmt.executeBatch();
+            conn.commit();
+            conn.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.unievent.bench;
+
+import com.unievent.dao.EventAdvancedDAO;
+import com.unievent.dao.InteractionDAO;
+import com.unievent.metrics.LatencyHistogram;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of the search and RSVP paths with N concurrent users, each on its own
+ * platform thread (today's thread-per-request model) or virtual thread (needs Java 21).
+ * Not a JMH benchmark: it measures the threading model under a fixed number of users rather
+ * than one operation in isolation. Run both modes with the same arguments and compare.
+ *
+ *   mvn -Pbench,java21 compile exec:exec -Dbench.main=com.unievent.bench.ThreadModelLoadHarness \
+ *       -Djmh.args="virtual 5000 60 100000"
+ *
+ * Arguments: platform|virtual, users (5000), seconds (60), events (100000).
+ * The connection pool still caps database concurrency (unievent.db.pool.maxSize), as in production.
+ * Users call the DAO methods directly: the webapp has no search or RSVP servlet to load over HTTP,
+ * so container threads are not part of the measurement.
+ */
+public class ThreadModelLoadHarness {
+
+    private static final String[] KEYWORDS = {"festival", "robotics workshop", "symp", "career fair", "music"};
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "virtual";
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int events = args.length > 3 ? Integer.parseInt(args[3]) : 100_000;
+
+        BenchDataGenerator.Scale scale = new BenchDataGenerator.Scale(events);
+        EmbeddedDatabase.start(scale);
+        EventAdvancedDAO eventDAO = new EventAdvancedDAO();
+        eventDAO.rebuildSearchIndex();
+
+        LatencyHistogram search = new LatencyHistogram();
+        LatencyHistogram rsvp = new LatencyHistogram();
+        AtomicLong errors = new AtomicLong();
+
+        ExecutorService executor = newExecutor(mode, users);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> running = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            int userId = 1 + u % scale.users;
+            running.add(executor.submit(() -> runUser(userId, scale, deadline, search, rsvp, errors)));
+        }
+        for (Future<?> f : running) {
+            f.get();
+        }
+        executor.shutdown();
+
+        System.out.printf("%s threads, %d users, %d s, %d events%n", mode, users, seconds, events);
+        report("search", search.snapshot(), seconds);
+        report("rsvp  ", rsvp.snapshot(), seconds);
+        System.out.printf("errors %d, peak live threads %d, heap used %d MB%n", errors.get(),
+                ManagementFactory.getThreadMXBean().getPeakThreadCount(),
+                (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) >> 20);
+
+        EmbeddedDatabase.stop();
+    }
+
+    // One simulated user: alternate a keyword search with an RSVP change until time is up
+    private static void runUser(int userId, BenchDataGenerator.Scale scale, long deadline,
+                                LatencyHistogram search, LatencyHistogram rsvp, AtomicLong errors) {
+        EventAdvancedDAO eventDAO = new EventAdvancedDAO();
+        InteractionDAO interactionDAO = new InteractionDAO();
+        SplittableRandom random = new SplittableRandom(userId);
+        while (System.nanoTime() < deadline) {
+            try {
+                long t0 = System.nanoTime();
+                eventDAO.searchEventsPage(null, null, KEYWORDS[random.nextInt(KEYWORDS.length)], null, 20);
+                long t1 = System.nanoTime();
+                interactionDAO.toggleRSVP(userId, 1 + random.nextInt(scale.events), random.nextBoolean() ? "GOING" : "NOT_GOING");
+                long t2 = System.nanoTime();
+                search.recordNanos(t1 - t0);
+                rsvp.recordNanos(t2 - t1);
+            } catch (RuntimeException e) {
+                errors.incrementAndGet();
+            }
+        }
+    }
+
+    private static ExecutorService newExecutor(String mode, int users) throws ReflectiveOperationException {
+        if (mode.equals("virtual")) {
+            // Reflective so the bench sources still compile without -Pjava21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        return Executors.newFixedThreadPool(users);
+    }
+
+    private static void report(String name, LatencyHistogram.Snapshot s, int seconds) {
+        System.out.printf("%s  %8d ops  %8.0f ops/s  mean %6d us  p50 %6d us  p99 %7d us  max %7d us%n",
+                name, s.count, s.count / (double) seconds, (long) s.meanMicros(),
+                s.percentileMicros(0.50), s.percentileMicros(0.99), s.maxMicros);
+    }
+}
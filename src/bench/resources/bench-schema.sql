@@ -0,0 +1,99 @@
+-- Schema for the embedded benchmark database (H2 in MySQL mode).
+-- Mirrors the production tables the DAOs touch, including db/migrations.
+
+CREATE TABLE Department (
+    dept_id   INT AUTO_INCREMENT PRIMARY KEY,
+    dept_name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE User (
+    user_id   INT AUTO_INCREMENT PRIMARY KEY,
+    email     VARCHAR(150) NOT NULL UNIQUE,
+    password  VARCHAR(255) NOT NULL,
+    user_name VARCHAR(100) NOT NULL,
+    phone     VARCHAR(20)
+);
+
+CREATE TABLE Admin (
+    user_id INT PRIMARY KEY
+);
+
+CREATE TABLE Student (
+    user_id    INT PRIMARY KEY,
+    std_id     VARCHAR(30),
+    batch_year INT,
+    dept_id    INT
+);
+
+CREATE TABLE Staff (
+    user_id  INT PRIMARY KEY,
+    staff_id VARCHAR(30),
+    dept_id  INT,
+    position VARCHAR(100)
+);
+
+CREATE TABLE Category (
+    cat_id   INT AUTO_INCREMENT PRIMARY KEY,
+    cat_name VARCHAR(100) NOT NULL
+);
+
+CREATE TABLE Venue (
+    venue_id   INT AUTO_INCREMENT PRIMARY KEY,
+    venue_name VARCHAR(100) NOT NULL,
+    location   VARCHAR(200),
+    capacity   INT NOT NULL
+);
+
+CREATE TABLE Event (
+    event_id       INT AUTO_INCREMENT PRIMARY KEY,
+    user_id        INT NOT NULL,
+    venue_id       INT NOT NULL,
+    cat_id         INT NOT NULL,
+    title          VARCHAR(200) NOT NULL,
+    description    TEXT,
+    start          DATETIME NOT NULL,
+    end            DATETIME NOT NULL,
+    max_attendees  INT NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    created_at     TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    attendee_count INT NOT NULL DEFAULT 0
+);
+CREATE INDEX idx_event_status_start ON Event (status, start, event_id);
+CREATE INDEX idx_event_status_created ON Event (status, created_at, event_id);
+CREATE INDEX idx_event_user ON Event (user_id);
+
+CREATE TABLE Attends (
+    user_id     INT NOT NULL,
+    event_id    INT NOT NULL,
+    rsvp_status VARCHAR(20) NOT NULL,
+    rsvp_date   TIMESTAMP,
+    PRIMARY KEY (user_id, event_id)
+);
+CREATE INDEX idx_attends_event_status_date ON Attends (event_id, rsvp_status, rsvp_date, user_id);
+
+CREATE TABLE Comment (
+    comment_id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id    INT NOT NULL,
+    event_id   INT NOT NULL,
+    content    TEXT,
+    posted_at  TIMESTAMP
+);
+CREATE INDEX idx_comment_event_posted ON Comment (event_id, posted_at, comment_id);
+
+CREATE TABLE Donation (
+    donation_id     INT AUTO_INCREMENT PRIMARY KEY,
+    user_id         INT NOT NULL,
+    event_id        INT NOT NULL,
+    amount          DECIMAL(10, 2) NOT NULL,
+    donation_date   TIMESTAMP,
+    idempotency_key VARCHAR(64)
+);
+CREATE INDEX idx_donation_event ON Donation (event_id);
+CREATE UNIQUE INDEX uq_donation_user_key ON Donation (user_id, idempotency_key);
+
+CREATE TABLE DonationSummary (
+    event_id       INT PRIMARY KEY,
+    donation_count BIGINT NOT NULL DEFAULT 0,
+    total_amount   DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    max_amount     DECIMAL(10, 2) NOT NULL DEFAULT 0
+);
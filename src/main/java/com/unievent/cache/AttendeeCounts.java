@@ -0,0 +1,92 @@
+package com.unievent.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of Event.attendee_count (GOING RSVPs per event).
+ * Entries are filled from the counter column on first read and then adjusted by committed
+ * RSVP changes. ConcurrentHashMap bins give per-event striping, so a hot event only
+ * contends with itself.
+ *
+ * Fills and updates are ordered by a per-event version. Writers call beginWrite() before their
+ * commit and endWrite() after it; a reader takes loadStamp() before its SELECT, and load() only
+ * installs the value if no write was in flight or finished in between. Otherwise the row it read
+ * may or may not include that write, so it is not cached (the next read tries again).
+ */
+public class AttendeeCounts {
+
+    private static final int UNKNOWN = -1;
+
+    private static class Entry {
+        volatile int count = UNKNOWN;
+        long version;      // guarded by this
+        int writers;       // guarded by this
+    }
+
+    private final ConcurrentHashMap<Integer, Entry> counts = new ConcurrentHashMap<>();
+
+    // Cached count, or -1 when this event has not been loaded yet
+    public int get(int eventId) {
+        Entry e = counts.get(eventId);
+        return e == null ? UNKNOWN : e.count;
+    }
+
+    // Take before reading the counter column; -1 when a write is in flight (the value won't be cached)
+    public long loadStamp(int eventId) {
+        Entry e = counts.computeIfAbsent(eventId, k -> new Entry());
+        synchronized (e) {
+            return e.writers > 0 ? -1 : e.version;
+        }
+    }
+
+    // Seed from the database value read after loadStamp(), unless a write has touched the event since
+    public void load(int eventId, long stamp, int dbCount) {
+        Entry e = counts.get(eventId);
+        if (e == null || stamp < 0) {
+            return;
+        }
+        synchronized (e) {
+            if (e.version == stamp && e.writers == 0 && e.count == UNKNOWN) {
+                e.count = dbCount;
+            }
+        }
+    }
+
+    // Call before the transaction that may change the count commits
+    public void beginWrite(int eventId) {
+        Entry e = counts.computeIfAbsent(eventId, k -> new Entry());
+        synchronized (e) {
+            e.writers++;
+            e.version++;
+        }
+    }
+
+    // Call once it has committed (delta: +1 new GOING, -1 GOING cancelled) or rolled back (0)
+    public void endWrite(int eventId, int committedDelta) {
+        Entry e = counts.get(eventId);
+        synchronized (e) {
+            if (e.count != UNKNOWN) {
+                e.count += committedDelta;
+            }
+            e.writers--;
+            e.version++;
+        }
+    }
+
+    public void invalidate(int eventId) {
+        Entry e = counts.get(eventId);
+        if (e != null) {
+            synchronized (e) {
+                e.count = UNKNOWN;
+                e.version++;
+            }
+        }
+    }
+
+    // After a repair job rewrote the column (writers in flight keep their bookkeeping)
+    public void clear() {
+        for (Integer eventId : counts.keySet()) {
+            invalidate(eventId);
+        }
+    }
+}
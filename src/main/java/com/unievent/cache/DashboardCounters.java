@@ -0,0 +1,182 @@
+package com.unievent.cache;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Materialized admin dashboard counters (pending events, users, events).
+ * Loaded once, then kept current by the DAOs that create/approve events and register users,
+ * so the dashboard reads three longs instead of running three COUNT(*) scans.
+ * A periodic reconcile() re-counts in the database and records how far memory had drifted.
+ *
+ * Writers call beginUpdate() before the commit whose effect they count and endUpdate() once the
+ * counter change is applied. Both only bump a version under a monitor, so no lock is ever held
+ * across SQL. reconcile() installs its counts only if no writer was in flight when it started and
+ * none began or finished before it finished: then memory and the database describe the same
+ * committed state and nothing is counted twice or lost. Otherwise it tries again, a few times.
+ */
+public class DashboardCounters {
+
+    /** Returns {pendingEvents, totalUsers, totalEvents} counted in ONE read transaction. */
+    @FunctionalInterface
+    public interface Loader {
+        long[] load() throws SQLException;
+    }
+
+    // Counting under steady writes can keep overlapping one; give up until the next period after this
+    private static final int MAX_RECONCILE_ATTEMPTS = 3;
+
+    private final Loader loader;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong totalEvents = new AtomicLong();
+
+    // Guarded by this: writers between beginUpdate() and endUpdate(), bumped on every begin and end
+    private int writers = 0;
+    private long version = 0;
+
+    private volatile boolean loaded = false;
+    private final ReentrantLock reconcileLock = new ReentrantLock(); // held across the COUNT queries
+
+    // Drift metrics from the last reconciliation (database minus memory)
+    private volatile long[] lastDrift = new long[3];
+    private final AtomicLong totalAbsDrift = new AtomicLong();
+    private final AtomicLong reconciliations = new AtomicLong();
+    private final AtomicLong skippedReconciliations = new AtomicLong();
+
+    public DashboardCounters(Loader loader) {
+        this.loader = loader;
+    }
+
+    // Returns {pendingEvents, totalUsers, totalEvents}; same layout as AdminDAO.getSystemStats()
+    public int[] snapshot() {
+        if (!loaded) {
+            reconcile();
+        }
+        return new int[] {
+                (int) pendingEvents.get(),
+                (int) totalUsers.get(),
+                (int) totalEvents.get()
+        };
+    }
+
+    // ==================== INCREMENTAL UPDATES ====================
+
+    // Call before the commit (or auto-commit statement) whose effect is counted below
+    public synchronized void beginUpdate() {
+        writers++;
+        version++;
+    }
+
+    // Call in a finally block once the counter change (if any) has been applied
+    public synchronized void endUpdate() {
+        writers--;
+        version++;
+    }
+
+    // New events always start PENDING
+    public void onEventCreated() {
+        pendingEvents.incrementAndGet();
+        totalEvents.incrementAndGet();
+    }
+
+    // A PENDING event was approved or rejected
+    public void onEventsLeftPending(int count) {
+        pendingEvents.addAndGet(-count);
+    }
+
+    public void onUserRegistered() {
+        totalUsers.incrementAndGet();
+    }
+
+    // ==================== RECONCILIATION ====================
+
+    /**
+     * Re-counts in the database and, if no update overlapped the count, replaces memory with it.
+     * The first load installs its counts even if every attempt overlapped an update; the next
+     * reconciliation corrects whatever that got wrong.
+     */
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            reconcileLocked();
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private void reconcileLocked() {
+        long[] db = null;
+        for (int attempt = 1; attempt <= MAX_RECONCILE_ATTEMPTS; attempt++) {
+            long stamp = stamp();
+            try {
+                db = loader.load();
+            } catch (SQLException | RuntimeException e) { // RuntimeException: no connection available
+                System.err.println("❌ Dashboard counter reconciliation failed, keeping in-memory values.");
+                e.printStackTrace();
+                return;
+            }
+            if (stamp >= 0 && install(stamp, db)) {
+                return;
+            }
+        }
+        if (!loaded) {
+            synchronized (this) {
+                pendingEvents.set(db[0]);
+                totalUsers.set(db[1]);
+                totalEvents.set(db[2]);
+            }
+            loaded = true;
+            return;
+        }
+        skippedReconciliations.incrementAndGet();
+    }
+
+    // Version to compare against after the count, or -1 while a writer is in flight
+    private synchronized long stamp() {
+        return writers > 0 ? -1 : version;
+    }
+
+    private synchronized boolean install(long stamp, long[] db) {
+        if (writers > 0 || version != stamp) {
+            return false;
+        }
+        long[] drift = {
+                db[0] - pendingEvents.getAndSet(db[0]),
+                db[1] - totalUsers.getAndSet(db[1]),
+                db[2] - totalEvents.getAndSet(db[2])
+        };
+        if (!loaded) {
+            loaded = true;
+            return true; // Initial load, nothing to report as drift
+        }
+        lastDrift = drift;
+        totalAbsDrift.addAndGet(Math.abs(drift[0]) + Math.abs(drift[1]) + Math.abs(drift[2]));
+        reconciliations.incrementAndGet();
+        return true;
+    }
+
+    public DriftStats getDriftStats() {
+        DriftStats stats = new DriftStats();
+        long[] d = lastDrift;
+        stats.pendingEventsDrift = d[0];
+        stats.totalUsersDrift = d[1];
+        stats.totalEventsDrift = d[2];
+        stats.totalAbsoluteDrift = totalAbsDrift.get();
+        stats.reconciliations = reconciliations.get();
+        stats.skippedReconciliations = skippedReconciliations.get();
+        return stats;
+    }
+
+    // Inner class for drift metrics
+    public static class DriftStats {
+        public long pendingEventsDrift;
+        public long totalUsersDrift;
+        public long totalEventsDrift;
+        public long totalAbsoluteDrift;
+        public long reconciliations;
+        public long skippedReconciliations; // every attempt overlapped an update
+    }
+}
@@ -0,0 +1,300 @@
+package com.unievent.cache;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory fundraising analytics per event: top donors and donation counts/sums per minute,
+ * hour and day. Event id 0 (ALL_EVENTS) aggregates the whole campaign.
+ *
+ * Leaderboard: every donor's running total per event, plus an ordered set holding the best topK.
+ * Totals only grow, so a donor outside the set can only enter it on their own donation, and one
+ * comparison with the set's smallest entry decides that. Reading the top list costs O(topK).
+ *
+ * Buckets live in ordered maps keyed by bucket start; a range read is one seek plus the buckets
+ * returned, however many donations they hold. Minute and hour buckets older than their
+ * retention (measured from the newest donation) are dropped; day buckets are kept.
+ *
+ * Filled once from history by a load (beginLoad/finishLoad) and then kept current by committed
+ * donations. Donations committed while a load is scanning are buffered and replayed unless the
+ * scan already saw their id, so none is lost or counted twice. Queries return null until the
+ * first load finishes.
+ */
+public class DonationAnalytics {
+
+    public static final int ALL_EVENTS = 0;
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    public enum Granularity {
+        MINUTE(60), HOUR(3_600), DAY(86_400);
+
+        final long seconds;
+
+        Granularity(long seconds) {
+            this.seconds = seconds;
+        }
+    }
+
+    /** One donor's running total at one event. */
+    public static class DonorTotal {
+        private final int userId;
+        private final long count;
+        private final BigDecimal total;
+
+        DonorTotal(int userId, long count, BigDecimal total) {
+            this.userId = userId;
+            this.count = count;
+            this.total = total;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getTotal() {
+            return total;
+        }
+    }
+
+    /** Donations in [start, start + granularity). */
+    public static class Bucket {
+        private final LocalDateTime start;
+        private final long count;
+        private final BigDecimal sum;
+
+        Bucket(LocalDateTime start, long count, BigDecimal sum) {
+            this.start = start;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getSum() {
+            return sum;
+        }
+    }
+
+    // Largest total first; ties by user id so the order is total and stable
+    private static final Comparator<DonorTotal> LEADERBOARD = Comparator
+            .comparing(DonorTotal::getTotal).reversed()
+            .thenComparingInt(DonorTotal::getUserId);
+
+    private static class MutableBucket {
+        long count;
+        BigDecimal sum = BigDecimal.ZERO;
+    }
+
+    private static class EventStats {
+        final Map<Integer, DonorTotal> donors = new HashMap<>();
+        final TreeSet<DonorTotal> top = new TreeSet<>(LEADERBOARD);
+        final List<NavigableMap<Long, MutableBucket>> buckets = new ArrayList<>(3);
+        long newestSec = Long.MIN_VALUE;
+
+        EventStats() {
+            for (int i = 0; i < Granularity.values().length; i++) {
+                buckets.add(new TreeMap<>());
+            }
+        }
+    }
+
+    private static class Donation {
+        final int donationId;
+        final int userId;
+        final int eventId;
+        final BigDecimal amount;
+        final long atSec;
+
+        Donation(int donationId, int userId, int eventId, BigDecimal amount, long atSec) {
+            this.donationId = donationId;
+            this.userId = userId;
+            this.eventId = eventId;
+            this.amount = amount;
+            this.atSec = atSec;
+        }
+    }
+
+    /** Builds a replacement from history; feed it every donation, then pass it to finishLoad(). */
+    public class Loader {
+        private final Map<Integer, EventStats> events = new HashMap<>();
+        private final BitSet seen = new BitSet();
+
+        // at may be null (legacy rows): counted on the leaderboard, left out of the buckets
+        public void add(int donationId, int userId, int eventId, BigDecimal amount, LocalDateTime at) {
+            if (donationId >= 0) {
+                seen.set(donationId);
+            }
+            apply(events, new Donation(donationId, userId, eventId, amount, at == null ? NO_TIME : toSeconds(at)));
+        }
+    }
+
+    private final int topK;
+    private final long minuteRetentionSec;
+    private final long hourRetentionSec;
+
+    private Map<Integer, EventStats> events = null; // null until the first load finishes
+    private List<Donation> committedDuringLoad = null; // non-null while a load is scanning
+
+    public DonationAnalytics(int topK, long minuteRetentionHours, long hourRetentionDays) {
+        this.topK = topK;
+        this.minuteRetentionSec = minuteRetentionHours * 3_600;
+        this.hourRetentionSec = hourRetentionDays * 86_400;
+    }
+
+    public synchronized boolean isReady() {
+        return events != null;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    // ==================== UPDATES ====================
+
+    // A committed donation (id from the insert's generated keys, -1 if unknown)
+    public synchronized void add(int donationId, int userId, int eventId, BigDecimal amount, LocalDateTime at) {
+        Donation d = new Donation(donationId, userId, eventId, amount, toSeconds(at));
+        if (committedDuringLoad != null) {
+            committedDuringLoad.add(d);
+        }
+        if (events != null) {
+            apply(events, d);
+        }
+    }
+
+    // Called before scanning the Donation table
+    public synchronized Loader beginLoad() {
+        committedDuringLoad = new ArrayList<>();
+        return new Loader();
+    }
+
+    // Install the scanned history plus whatever committed meanwhile that the scan did not see
+    public synchronized void finishLoad(Loader loader) {
+        for (Donation d : committedDuringLoad) {
+            if (d.donationId < 0 || !loader.seen.get(d.donationId)) {
+                apply(loader.events, d);
+            }
+        }
+        committedDuringLoad = null;
+        events = loader.events;
+    }
+
+    // Scan failed: keep what we had
+    public synchronized void abortLoad() {
+        committedDuringLoad = null;
+    }
+
+    private void apply(Map<Integer, EventStats> target, Donation d) {
+        applyTo(target.computeIfAbsent(d.eventId, k -> new EventStats()), d);
+        applyTo(target.computeIfAbsent(ALL_EVENTS, k -> new EventStats()), d);
+    }
+
+    private void applyTo(EventStats stats, Donation d) {
+        // Leaderboard: re-rank the donor if listed, or let them in past the current smallest entry
+        DonorTotal old = stats.donors.get(d.userId);
+        DonorTotal updated = old == null
+                ? new DonorTotal(d.userId, 1, d.amount)
+                : new DonorTotal(d.userId, old.count + 1, old.total.add(d.amount));
+        stats.donors.put(d.userId, updated);
+        if (old != null && stats.top.remove(old)) {
+            stats.top.add(updated);
+        } else if (stats.top.size() < topK) {
+            stats.top.add(updated);
+        } else if (LEADERBOARD.compare(updated, stats.top.last()) < 0) {
+            stats.top.pollLast();
+            stats.top.add(updated);
+        }
+
+        // Buckets
+        if (d.atSec == NO_TIME) {
+            return;
+        }
+        stats.newestSec = Math.max(stats.newestSec, d.atSec);
+        for (Granularity g : Granularity.values()) {
+            long retention = retentionSec(g);
+            if (retention > 0 && d.atSec < stats.newestSec - retention) {
+                continue; // Older than this granularity keeps
+            }
+            NavigableMap<Long, MutableBucket> series = stats.buckets.get(g.ordinal());
+            MutableBucket b = series.computeIfAbsent(Math.floorDiv(d.atSec, g.seconds) * g.seconds, k -> new MutableBucket());
+            b.count++;
+            b.sum = b.sum.add(d.amount);
+            if (retention > 0) {
+                series.headMap(stats.newestSec - retention, false).clear();
+            }
+        }
+    }
+
+    private long retentionSec(Granularity g) {
+        switch (g) {
+            case MINUTE: return minuteRetentionSec;
+            case HOUR: return hourRetentionSec;
+            default: return 0; // Kept
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    // Best donors first (at most topK), or null before the first load
+    public synchronized List<DonorTotal> topDonors(int eventId, int limit) {
+        if (events == null) {
+            return null;
+        }
+        List<DonorTotal> result = new ArrayList<>(Math.min(limit, topK));
+        EventStats stats = events.get(eventId);
+        if (stats != null) {
+            for (DonorTotal t : stats.top) {
+                if (result.size() == limit) break;
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Non-empty buckets starting in [from, to), oldest first, or null before the first load.
+     * Minute and hour buckets only reach back as far as their retention.
+     */
+    public synchronized List<Bucket> series(int eventId, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (events == null) {
+            return null;
+        }
+        List<Bucket> result = new ArrayList<>();
+        EventStats stats = events.get(eventId);
+        if (stats != null) {
+            long fromSec = Math.floorDiv(toSeconds(from), granularity.seconds) * granularity.seconds;
+            NavigableMap<Long, MutableBucket> range =
+                    stats.buckets.get(granularity.ordinal()).subMap(fromSec, true, toSeconds(to), false);
+            for (Map.Entry<Long, MutableBucket> e : range.entrySet()) {
+                result.add(new Bucket(LocalDateTime.ofEpochSecond(e.getKey(), 0, ZoneOffset.UTC),
+                        e.getValue().count, e.getValue().sum));
+            }
+        }
+        return result;
+    }
+
+    private static long toSeconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,123 @@
+package com.unievent.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of DonationSummary (running count, sum and max of donations per event).
+ * Entries are filled from the summary row on first read and then adjusted by committed
+ * donations. Each value is an immutable Totals, so readers always see a count, sum and max
+ * that belong together.
+ *
+ * Fills and updates are ordered by a per-event version, as in AttendeeCounts. Writers call
+ * beginWrite() before their commit and endWrite() after it; a reader takes loadStamp() before its
+ * SELECT, and load() only installs the row if no write was in flight or finished in between.
+ * Otherwise the row may or may not include that write, so it is not cached (the next read tries again).
+ */
+public class DonationTotals {
+
+    /** One event's running aggregate. Average is derived, never stored. */
+    public static class Totals {
+        public static final Totals EMPTY = new Totals(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+        public final long count;
+        public final BigDecimal sum;
+        public final BigDecimal max;
+
+        public Totals(long count, BigDecimal sum, BigDecimal max) {
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public Totals plus(BigDecimal amount) {
+            return new Totals(count + 1, sum.add(amount), count == 0 ? amount : max.max(amount));
+        }
+
+        // Combine with another event-local aggregate (e.g. one batch's donations)
+        public Totals plus(Totals other) {
+            if (other.count == 0) return this;
+            if (count == 0) return other;
+            return new Totals(count + other.count, sum.add(other.sum), max.max(other.max));
+        }
+
+        // Same rounding as the DECIMAL(10, 2) amount column
+        public BigDecimal average() {
+            return count == 0 ? BigDecimal.ZERO : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    private static class Entry {
+        volatile Totals totals;  // null until loaded
+        long version;            // guarded by this
+        int writers;             // guarded by this
+    }
+
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    // Cached totals, or null when this event has not been loaded yet
+    public Totals get(int eventId) {
+        Entry e = entries.get(eventId);
+        return e == null ? null : e.totals;
+    }
+
+    // Take before reading the summary row; -1 when a write is in flight (the row won't be cached)
+    public long loadStamp(int eventId) {
+        Entry e = entries.computeIfAbsent(eventId, k -> new Entry());
+        synchronized (e) {
+            return e.writers > 0 ? -1 : e.version;
+        }
+    }
+
+    // Seed from the summary row read after loadStamp(), unless a write has touched the event since
+    public void load(int eventId, long stamp, Totals fromDb) {
+        Entry e = entries.get(eventId);
+        if (e == null || stamp < 0) {
+            return;
+        }
+        synchronized (e) {
+            if (e.version == stamp && e.writers == 0 && e.totals == null) {
+                e.totals = fromDb;
+            }
+        }
+    }
+
+    // Call before the transaction that may add donations to the event commits
+    public void beginWrite(int eventId) {
+        Entry e = entries.computeIfAbsent(eventId, k -> new Entry());
+        synchronized (e) {
+            e.writers++;
+            e.version++;
+        }
+    }
+
+    // Call once it has committed (the event's share of the batch) or rolled back (Totals.EMPTY)
+    public void endWrite(int eventId, Totals committed) {
+        Entry e = entries.get(eventId);
+        synchronized (e) {
+            if (e.totals != null) {
+                e.totals = e.totals.plus(committed);
+            }
+            e.writers--;
+            e.version++;
+        }
+    }
+
+    public void invalidate(int eventId) {
+        Entry e = entries.get(eventId);
+        if (e != null) {
+            synchronized (e) {
+                e.totals = null;
+                e.version++;
+            }
+        }
+    }
+
+    // After the reconciliation job rewrote the summary table (writers in flight keep their bookkeeping)
+    public void clear() {
+        for (Integer eventId : entries.keySet()) {
+            invalidate(eventId);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.unievent.cache;
+
+import java.util.SplittableRandom;
+
+/**
+ * Busy blocks of one venue keyed by start second, each with the free gap before it (its start minus
+ * the previous block's end). A treap whose nodes also carry the largest gap in their subtree, so
+ * "first block after x with a gap of at least d" skips every subtree whose gaps are all shorter:
+ * O(log n) expected, however many short gaps lie in between.
+ *
+ * Not thread-safe; VenueSchedule guards it with its lock.
+ */
+class GapIndex {
+
+    private static class Node {
+        final long key;
+        final long gap;
+        final int priority;
+        long maxGap;
+        Node left;
+        Node right;
+
+        Node(long key, long gap, int priority) {
+            this.key = key;
+            this.gap = gap;
+            this.priority = priority;
+            this.maxGap = gap;
+        }
+    }
+
+    private final SplittableRandom random = new SplittableRandom(0x6a09e667L);
+    private Node root;
+
+    // Adds the block starting at key, or replaces its gap
+    void put(long key, long gap) {
+        remove(key);
+        Node[] parts = split(root, key);
+        root = merge(merge(parts[0], new Node(key, gap, random.nextInt())), parts[1]);
+    }
+
+    void remove(long key) {
+        Node[] lower = split(root, key);
+        Node[] upper = split(lower[1], key + 1);
+        root = merge(lower[0], upper[1]);
+    }
+
+    /** Smallest key greater than after whose gap is at least minGap, or null. */
+    Long firstGapAtLeast(long after, long minGap) {
+        Node n = first(root, after, minGap);
+        return n == null ? null : n.key;
+    }
+
+    private static Node first(Node n, long after, long minGap) {
+        if (n == null || n.maxGap < minGap) {
+            return null;
+        }
+        if (n.key <= after) {
+            return first(n.right, after, minGap);
+        }
+        Node found = first(n.left, after, minGap);
+        if (found != null) {
+            return found;
+        }
+        return n.gap >= minGap ? n : first(n.right, after, minGap);
+    }
+
+    // [keys < key, keys >= key]
+    private static Node[] split(Node n, long key) {
+        if (n == null) {
+            return new Node[]{null, null};
+        }
+        if (n.key < key) {
+            Node[] parts = split(n.right, key);
+            n.right = parts[0];
+            update(n);
+            return new Node[]{n, parts[1]};
+        }
+        Node[] parts = split(n.left, key);
+        n.left = parts[1];
+        update(n);
+        return new Node[]{parts[0], n};
+    }
+
+    // Every key in a is below every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            update(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        update(b);
+        return b;
+    }
+
+    private static void update(Node n) {
+        long max = n.gap;
+        if (n.left != null) max = Math.max(max, n.left.maxGap);
+        if (n.right != null) max = Math.max(max, n.right.maxGap);
+        n.maxGap = max;
+    }
+}
@@ -0,0 +1,166 @@
+package com.unievent.cache;
+
+import com.unievent.model.Comment;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Newest N comments per event, newest first, with LRU eviction across events.
+ * Holds exactly what the table holds for those rows (ids and author names included), so the
+ * first pages of a hot event's feed can be served without a query. Committed inserts are
+ * appended; an entry is only ever filled by load().
+ *
+ * Fills and inserts are ordered by a per-event version, as in AttendeeCounts. Writers call
+ * beginWrite() before their commit and append() (or abortWrite()) after it; a reader takes
+ * loadStamp() before its SELECT, and load() only installs the rows if no insert was in flight or
+ * finished in between. Concurrent loads each carry their own stamp, so a slow one cannot install
+ * rows older than what a faster one already saw.
+ */
+public class RecentComments {
+
+    private final int perEvent;
+    private final int maxEvents;
+
+    private final LinkedHashMap<Integer, Entry> entries;
+    // eventId -> write version and inserts in flight; kept for events whose entry was evicted too
+    private final Map<Integer, Stamp> stamps = new HashMap<>();
+
+    private long hits = 0;
+    private long misses = 0;
+
+    private static class Entry {
+        final List<Comment> newestFirst;
+        boolean complete; // true when the event has no comments beyond this list
+
+        Entry(List<Comment> newestFirst, boolean complete) {
+            this.newestFirst = newestFirst;
+            this.complete = complete;
+        }
+    }
+
+    private static class Stamp {
+        long version;
+        int writers;
+    }
+
+    public RecentComments(int perEvent, int maxEvents) {
+        this.perEvent = perEvent;
+        this.maxEvents = maxEvents;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                return size() > RecentComments.this.maxEvents;
+            }
+        };
+    }
+
+    public int getPerEvent() {
+        return perEvent;
+    }
+
+    /**
+     * Up to limit comments strictly older than (beforeMillis, beforeId), or all from the top when
+     * beforeMillis is null. Returns null when the cache cannot answer: event not loaded, or the
+     * cached rows run out before limit + 1 (the extra row decides whether there is a next page).
+     */
+    public synchronized List<Comment> page(int eventId, Long beforeMillis, int beforeId, int limit) {
+        Entry entry = entries.get(eventId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        List<Comment> page = new ArrayList<>(limit + 1);
+        for (Comment c : entry.newestFirst) {
+            if (beforeMillis == null || isOlder(c, beforeMillis, beforeId)) {
+                page.add(c);
+                if (page.size() > limit) break;
+            }
+        }
+        if (page.size() <= limit && !entry.complete) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return page;
+    }
+
+    // Take before reading the newest rows; -1 when an insert is in flight (the rows won't be cached)
+    public synchronized long loadStamp(int eventId) {
+        Stamp st = stamps.computeIfAbsent(eventId, k -> new Stamp());
+        return st.writers > 0 ? -1 : st.version;
+    }
+
+    /**
+     * Installs rows read newest first with LIMIT perEvent + 1 after loadStamp(). Skipped if an
+     * insert for this event was in flight or committed since, because the rows may predate it.
+     */
+    public synchronized void load(int eventId, long stamp, List<Comment> newestFirst) {
+        Stamp st = stamps.get(eventId);
+        if (st == null || stamp < 0 || st.version != stamp || st.writers > 0) {
+            return;
+        }
+        boolean complete = newestFirst.size() <= perEvent;
+        List<Comment> rows = new ArrayList<>(newestFirst.subList(0, Math.min(perEvent, newestFirst.size())));
+        entries.put(eventId, new Entry(rows, complete));
+    }
+
+    // Call before the transaction inserting a comment for this event commits (once per comment)
+    public synchronized void beginWrite(int eventId) {
+        Stamp st = stamps.computeIfAbsent(eventId, k -> new Stamp());
+        st.writers++;
+        st.version++;
+    }
+
+    // The insert announced by beginWrite() rolled back
+    public synchronized void abortWrite(int eventId) {
+        endWrite(eventId);
+    }
+
+    // A comment announced by beginWrite() was committed; keep the list sorted and capped (late timestamps are possible)
+    public synchronized void append(Comment comment) {
+        int eventId = comment.getEventId();
+        endWrite(eventId);
+        Entry entry = entries.get(eventId);
+        if (entry == null) {
+            return;
+        }
+        List<Comment> list = entry.newestFirst;
+        int pos = 0;
+        while (pos < list.size() && !isOlder(list.get(pos), comment.getTimestamp().getTime(), comment.getCommentId())) {
+            pos++;
+        }
+        if (pos == list.size() && !entry.complete) {
+            return; // older than everything cached, and older rows exist that we don't hold
+        }
+        list.add(pos, comment);
+        if (list.size() > perEvent) {
+            list.remove(list.size() - 1);
+            entry.complete = false;
+        }
+    }
+
+    // A comment announced by beginWrite() was committed but cannot be placed (no id); drop the entry
+    public synchronized void invalidate(int eventId) {
+        endWrite(eventId);
+        entries.remove(eventId);
+    }
+
+    private void endWrite(int eventId) {
+        Stamp st = stamps.get(eventId);
+        st.writers--;
+        st.version++;
+    }
+
+    public synchronized long[] getHitsAndMisses() {
+        return new long[]{hits, misses};
+    }
+
+    // Feed order is (posted_at, comment_id) descending
+    private static boolean isOlder(Comment c, long thanMillis, int thanId) {
+        long t = c.getTimestamp().getTime();
+        return t < thanMillis || (t == thanMillis && c.getCommentId() < thanId);
+    }
+}
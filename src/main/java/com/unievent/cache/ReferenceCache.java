@@ -0,0 +1,193 @@
+package com.unievent.cache;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Read-through, TTL-bounded cache for a small lookup table (categories, venues, ...).
+ * Readers get an immutable snapshot (sorted list + id map) without locking. Once a snapshot
+ * exists, readers never touch the database: an expired or invalidated snapshot keeps being served
+ * while one background thread reloads it. Callers often still hold a pooled connection (names are
+ * resolved inside result-set loops), so a synchronous reload on every request thread could take
+ * the last free connection away from the reloader. Only the very first load runs on the caller.
+ *
+ * invalidate() bumps a generation counter instead of racing the loader: a snapshot is only
+ * served while its generation is current, so a reload that started before the write committed
+ * can never pin stale rows for a whole TTL. After a failed reload the previous snapshot is
+ * served and the database is retried with exponential backoff, not on every call.
+ *
+ * The cached model objects are shared between callers and must be treated as read-only.
+ */
+public class ReferenceCache<T> {
+
+    /** Loads the full table, already in display order. */
+    @FunctionalInterface
+    public interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    // Don't hammer the database with reloads when someone asks for an id that really doesn't exist
+    private static final long MIN_RELOAD_ON_MISS_MILLIS = 1_000;
+    // Backoff after failed reloads: 1 s, 2 s, 4 s, ... capped at one minute
+    private static final long MIN_RETRY_MILLIS = 1_000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+    // A reload overtaken by invalidate() is repeated at most this often before it is served uncached
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final String name;
+    private final Loader<T> loader;
+    private final ToIntFunction<T> idOf;
+    private final long ttlMillis;
+
+    private volatile Snapshot<T> snapshot; // null until the first successful load
+    private final AtomicLong generation = new AtomicLong();
+    private final ReentrantLock reloadLock = new ReentrantLock(); // held across the query, so not synchronized
+    private final AtomicBoolean refreshing = new AtomicBoolean();  // a background reload is running
+
+    // Guarded by reloadLock
+    private int consecutiveFailures = 0;
+    private volatile long retryAt = 0;
+
+    public ReferenceCache(String name, Loader<T> loader, ToIntFunction<T> idOf, long ttlMillis) {
+        this.name = name;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // Sorted, unmodifiable list
+    public List<T> getAll() {
+        return current().list;
+    }
+
+    // Unmodifiable id -> object map
+    public Map<Integer, T> getMap() {
+        return current().byId;
+    }
+
+    // Single lookup; a miss schedules a background reload in case the row was added elsewhere
+    public T getById(int id) {
+        Snapshot<T> s = current();
+        T value = s.byId.get(id);
+        if (value == null && System.currentTimeMillis() - s.loadedAt > MIN_RELOAD_ON_MISS_MILLIS) {
+            refreshInBackground(s);
+        }
+        return value;
+    }
+
+    // Retire the snapshot and any load already running; the next reader triggers a reload
+    // (call after INSERT/UPDATE on the table has committed)
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private Snapshot<T> current() {
+        Snapshot<T> s = snapshot;
+        if (isValid(s)) {
+            return s;
+        }
+        if (s == null) {
+            return reload(null); // Nothing to serve yet
+        }
+        refreshInBackground(s);
+        return s;
+    }
+
+    // At most one reload thread at a time, and none while backing off after a failure
+    private void refreshInBackground(Snapshot<T> seen) {
+        if (System.currentTimeMillis() < retryAt || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Thread t = new Thread(() -> {
+            try {
+                reload(seen);
+            } finally {
+                refreshing.set(false);
+            }
+        }, "unievent-refresh-" + name);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private boolean isValid(Snapshot<T> s) {
+        return s != null && s.generation == generation.get()
+                && System.currentTimeMillis() - s.loadedAt < ttlMillis;
+    }
+
+    private Snapshot<T> reload(Snapshot<T> seen) {
+        reloadLock.lock();
+        try {
+            return reloadLocked(seen);
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Snapshot<T> reloadLocked(Snapshot<T> seen) {
+        Snapshot<T> s = snapshot;
+        if (s != seen && isValid(s)) {
+            return s; // Another thread reloaded while we waited for the lock
+        }
+        if (System.currentTimeMillis() < retryAt) {
+            return fallback(s); // Still backing off after a failure
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                long gen = generation.get();
+                List<T> rows = loader.load();
+                Map<Integer, T> byId = new HashMap<>(rows.size() * 2);
+                for (T row : rows) {
+                    byId.put(idOf.applyAsInt(row), row);
+                }
+                s = new Snapshot<>(List.copyOf(rows), Collections.unmodifiableMap(byId), gen);
+                consecutiveFailures = 0;
+                retryAt = 0;
+                if (gen == generation.get()) {
+                    snapshot = s; // If invalidate() lands right after this, readers see the old generation and reload
+                    return s;
+                }
+                if (attempt == MAX_LOAD_ATTEMPTS) {
+                    return s; // Invalidated during every load: serve it to this caller, cache nothing
+                }
+            }
+        } catch (SQLException | RuntimeException e) { // RuntimeException: no connection available
+            consecutiveFailures++;
+            long backoff = Math.min(MAX_RETRY_MILLIS, MIN_RETRY_MILLIS << Math.min(consecutiveFailures - 1, 16));
+            retryAt = System.currentTimeMillis() + backoff;
+            System.err.println("❌ Could not refresh " + name + " cache, serving previous data (retry in "
+                    + backoff + " ms).");
+            e.printStackTrace();
+            return fallback(s);
+        }
+    }
+
+    // Keep serving stale data rather than an empty dropdown
+    private Snapshot<T> fallback(Snapshot<T> last) {
+        return last != null ? last : new Snapshot<>(List.of(), Map.of(), -1L, 0);
+    }
+
+    private static class Snapshot<T> {
+        final List<T> list;
+        final Map<Integer, T> byId;
+        final long generation;
+        final long loadedAt;
+
+        Snapshot(List<T> list, Map<Integer, T> byId, long generation) {
+            this(list, byId, generation, System.currentTimeMillis());
+        }
+
+        Snapshot(List<T> list, Map<Integer, T> byId, long generation, long loadedAt) {
+            this.list = list;
+            this.byId = byId;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.unievent.cache;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of venue bookings (PENDING and APPROVED events) for availability checks.
+ *
+ * Per venue, bookings sit in a set ordered by start time. Bookings at one venue may overlap
+ * each other (several PENDING requests for the same slot), so the venue also remembers its
+ * longest booking: anything overlapping [from, to) must start in [from - longest, to), which
+ * is one O(log n) seek plus a scan of the bookings in that window.
+ *
+ * For free-slot searches the venue also keeps the union of its bookings as disjoint busy blocks,
+ * with the gaps between them in a GapIndex: the first gap long enough for a duration is found in
+ * O(log n) instead of walking every booking between the start of the search and that gap.
+ *
+ * Slots are half-open: an event ending at 10:00 does not conflict with one starting at 10:00.
+ * Times are wall-clock LocalDateTime, compared as seconds; no time zone is involved.
+ *
+ * A rebuild is bracketed by beginRebuild() before the database scan and rebuild() after it.
+ * add/remove calls made in between go to the live schedule and are replayed onto the scanned
+ * one, so a booking created or released during the scan is not lost by the swap.
+ */
+public class VenueSchedule {
+
+    /** One booked slot. */
+    public static class Booking {
+        private final int eventId;
+        private final int venueId;
+        private final long startSec;
+        private final long endSec;
+
+        Booking(int eventId, int venueId, long startSec, long endSec) {
+            this.eventId = eventId;
+            this.venueId = venueId;
+            this.startSec = startSec;
+            this.endSec = endSec;
+        }
+
+        public int getEventId() {
+            return eventId;
+        }
+
+        public int getVenueId() {
+            return venueId;
+        }
+
+        public LocalDateTime getStart() {
+            return fromSeconds(startSec);
+        }
+
+        public LocalDateTime getEnd() {
+            return fromSeconds(endSec);
+        }
+    }
+
+    private static class VenueBookings {
+        final NavigableSet<Booking> byStart = new TreeSet<>((a, b) -> {
+            int c = Long.compare(a.startSec, b.startSec);
+            return c != 0 ? c : Integer.compare(a.eventId, b.eventId);
+        });
+        long longestSec = 0; // Only grows between rebuilds; a stale bound just widens the scan
+        // Union of the bookings as disjoint blocks (start -> end), touching ones merged; gaps index the space between
+        final TreeMap<Long, Long> blocks = new TreeMap<>();
+        final GapIndex gaps = new GapIndex();
+
+        void add(Booking b) {
+            byStart.add(b);
+            longestSec = Math.max(longestSec, b.endSec - b.startSec);
+            // Absorb every block the new booking overlaps or touches
+            long start = b.startSec;
+            long end = b.endSec;
+            Map.Entry<Long, Long> before = blocks.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+                removeBlock(start);
+            }
+            Map.Entry<Long, Long> after;
+            while ((after = blocks.ceilingEntry(start)) != null && after.getKey() <= end) {
+                end = Math.max(end, after.getValue());
+                removeBlock(after.getKey());
+            }
+            putBlock(start, end);
+        }
+
+        void remove(Booking b) {
+            if (!byStart.remove(b)) {
+                return;
+            }
+            // Re-merge what is left of the block that held it (only the bookings inside that block)
+            Map.Entry<Long, Long> block = blocks.floorEntry(b.startSec);
+            long blockStart = block.getKey();
+            long blockEnd = block.getValue();
+            removeBlock(blockStart);
+            long runStart = -1;
+            long runEnd = -1;
+            for (Booking rest : byStart.subSet(seek(blockStart), true, seek(blockEnd), false)) {
+                if (runEnd >= 0 && rest.startSec <= runEnd) {
+                    runEnd = Math.max(runEnd, rest.endSec);
+                    continue;
+                }
+                if (runEnd >= 0) putBlock(runStart, runEnd);
+                runStart = rest.startSec;
+                runEnd = rest.endSec;
+            }
+            if (runEnd >= 0) putBlock(runStart, runEnd);
+        }
+
+        private void putBlock(long start, long end) {
+            blocks.put(start, end);
+            gaps.put(start, gapBefore(start));
+            Long next = blocks.higherKey(start);
+            if (next != null) gaps.put(next, next - end);
+        }
+
+        private void removeBlock(long start) {
+            blocks.remove(start);
+            gaps.remove(start);
+            Long next = blocks.higherKey(start);
+            if (next != null) gaps.put(next, gapBefore(next));
+        }
+
+        // Free seconds between the previous block and this one; unbounded for the first block
+        private long gapBefore(long start) {
+            Map.Entry<Long, Long> prev = blocks.lowerEntry(start);
+            return prev == null ? Long.MAX_VALUE : start - prev.getValue();
+        }
+    }
+
+    // Sorts before every booking that starts at startSec
+    private static Booking seek(long startSec) {
+        return new Booking(Integer.MIN_VALUE, 0, startSec, 0);
+    }
+
+    // A change to the schedule, applied live and replayed onto a rebuild that was scanning meanwhile
+    private interface Change {
+        void apply(Map<Integer, VenueBookings> venues, Map<Integer, Booking> byEvent);
+    }
+
+    private Map<Integer, VenueBookings> venues = new HashMap<>();
+    private Map<Integer, Booking> byEvent = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    // Guarded by the write lock: scans in progress, and the changes made since the first began
+    private int rebuildsInProgress = 0;
+    private List<Change> changesDuringRebuild = new ArrayList<>();
+
+    // False until the first rebuild; callers fall back to SQL meanwhile
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ==================== UPDATES ====================
+
+    // Call before scanning the database for rebuild()
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The scan failed and no rebuild() follows
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            endRebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replace everything (startup and periodic resync) with the scanned bookings plus changes made during the scan
+    public void rebuild(Collection<Booking> bookings) {
+        Map<Integer, VenueBookings> newVenues = new HashMap<>();
+        Map<Integer, Booking> newByEvent = new HashMap<>(bookings.size() * 2);
+        for (Booking b : bookings) {
+            addTo(newVenues, newByEvent, b);
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Changes are final states (slot booked, slot released), so replaying one the scan already saw is harmless
+            for (Change change : changesDuringRebuild) {
+                change.apply(newVenues, newByEvent);
+            }
+            if (rebuildsInProgress > 0) {
+                endRebuild();
+            }
+            venues = newVenues;
+            byEvent = newByEvent;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // New or moved booking (createEvent); replaces any previous slot of the same event
+    public void add(int eventId, int venueId, LocalDateTime start, LocalDateTime end) {
+        Booking b = new Booking(eventId, venueId, toSeconds(start), toSeconds(end));
+        apply((v, e) -> {
+            removeFrom(v, e, eventId);
+            addTo(v, e, b);
+        });
+    }
+
+    // Slot released (event rejected)
+    public void remove(int eventId) {
+        apply((v, e) -> removeFrom(v, e, eventId));
+    }
+
+    public void removeAll(Collection<Integer> eventIds) {
+        List<Integer> ids = new ArrayList<>(eventIds);
+        apply((v, e) -> {
+            for (int eventId : ids) {
+                removeFrom(v, e, eventId);
+            }
+        });
+    }
+
+    // Apply to the live schedule, and remember it for a rebuild that is scanning right now
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.apply(venues, byEvent);
+            if (rebuildsInProgress > 0) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void endRebuild() {
+        if (--rebuildsInProgress == 0) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+    }
+
+    private static void addTo(Map<Integer, VenueBookings> venues, Map<Integer, Booking> byEvent, Booking b) {
+        if (b.endSec <= b.startSec) {
+            return; // Empty or inverted slot blocks nothing
+        }
+        venues.computeIfAbsent(b.venueId, k -> new VenueBookings()).add(b);
+        byEvent.put(b.eventId, b);
+    }
+
+    private static void removeFrom(Map<Integer, VenueBookings> venues, Map<Integer, Booking> byEvent, int eventId) {
+        Booking old = byEvent.remove(eventId);
+        if (old != null) {
+            VenueBookings v = venues.get(old.venueId);
+            if (v != null) {
+                v.remove(old);
+            }
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    public boolean isFree(int venueId, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            return overlapping(venueId, toSeconds(from), toSeconds(to), true).isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Bookings overlapping [from, to), earliest first
+    public List<Booking> conflicts(int venueId, LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            return overlapping(venueId, toSeconds(from), toSeconds(to), false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Earliest start at or after from where durationMinutes fit without a conflict,
+     * or null if none starts before notAfter.
+     */
+    public LocalDateTime nextFreeSlot(int venueId, LocalDateTime from, long durationMinutes, LocalDateTime notAfter) {
+        long duration = durationMinutes * 60;
+        long limit = toSeconds(notAfter);
+        lock.readLock().lock();
+        try {
+            long t = firstFreeSecond(venueId, toSeconds(from), duration, limit);
+            return t < 0 ? null : fromSeconds(t);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Runs several queries against one consistent view (e.g. a scheduler scanning every venue)
+    public <T> T withReadLock(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same as nextFreeSlot, in epoch seconds (see toSeconds), -1 if none; call inside withReadLock()
+    public long firstFreeSecond(int venueId, long from, long duration, long limit) {
+        VenueBookings v = venues.get(venueId);
+        if (v == null) {
+            return from <= limit ? from : -1;
+        }
+        long t = from;
+        Map.Entry<Long, Long> busy = v.blocks.floorEntry(t);
+        if (busy != null && busy.getValue() > t) {
+            t = busy.getValue(); // Inside a busy block: the earliest candidate is its end
+        }
+        Long next = v.blocks.ceilingKey(t);
+        if (next != null && next - t < duration) {
+            // Too short before the next block: jump to the first later gap that is long enough
+            Long fits = v.gaps.firstGapAtLeast(next, duration);
+            t = fits == null ? v.blocks.lastEntry().getValue() : v.blocks.lowerEntry(fits).getValue();
+        }
+        return t <= limit ? t : -1;
+    }
+
+    private List<Booking> overlapping(int venueId, long from, long to, boolean firstOnly) {
+        List<Booking> hits = new ArrayList<>();
+        VenueBookings v = venues.get(venueId);
+        if (v == null || to <= from) {
+            return hits;
+        }
+        Booking seek = new Booking(Integer.MIN_VALUE, venueId, from - v.longestSec, 0);
+        for (Booking b : v.byStart.tailSet(seek, true)) {
+            if (b.startSec >= to) break;
+            if (b.endSec > from) {
+                hits.add(b);
+                if (firstOnly) break;
+            }
+        }
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byEvent.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== TIME HELPERS ====================
+
+    public static Booking booking(int eventId, int venueId, LocalDateTime start, LocalDateTime end) {
+        return new Booking(eventId, venueId, toSeconds(start), toSeconds(end));
+    }
+
+    // Request parameters: accepts "yyyy-MM-dd HH:mm[:ss]" and "yyyy-MM-ddTHH:mm[:ss]" (HTML datetime-local)
+    public static LocalDateTime parse(String dateTime) {
+        String s = dateTime.trim().replace('T', ' ');
+        if (s.length() == 16) {
+            s += ":00";
+        }
+        return Timestamp.valueOf(s).toLocalDateTime();
+    }
+
+    public static long toSeconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    public static LocalDateTime fromSeconds(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+}
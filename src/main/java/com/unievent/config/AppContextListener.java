@@ -0,0 +1,85 @@
+package com.unievent.config;
+
+import com.unievent.cache.DashboardCounters;
+import com.unievent.dao.AdminDAO;
+import com.unievent.dao.DonationDAO;
+import com.unievent.dao.EventAdvancedDAO;
+import com.unievent.dao.InteractionDAO;
+import com.unievent.dao.ResourceDAO;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Webapp lifecycle hooks: warms in-memory state and starts background jobs on deploy,
+ * releases the shared connection pool on undeploy so Tomcat does not report leaked threads and sockets.
+ */
+@WebListener
+public class AppContextListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Dashboard counters: load once now, then reconcile against the DB periodically
+        DashboardCounters counters = AdminDAO.getDashboardCounters();
+        counters.reconcile();
+        BackgroundJobs.scheduleEvery("dashboard-counters",
+                Long.getLong("unievent.dashboard.reconcileMillis", 5 * 60_000L), counters::reconcile);
+
+        // Keyword search index: build in the background (SQL LIKE serves searches until ready), resync periodically
+        EventAdvancedDAO eventDAO = new EventAdvancedDAO();
+        BackgroundJobs.runOnce("search-index", eventDAO::rebuildSearchIndex);
+        BackgroundJobs.scheduleEvery("search-index",
+                Long.getLong("unievent.search.rebuildMillis", 15 * 60_000L), eventDAO::rebuildSearchIndex);
+
+        // Lookup tables: first load here, so no request thread loads them while holding a connection
+        ResourceDAO resourceDAO = new ResourceDAO();
+        resourceDAO.getAllCategories();
+        resourceDAO.getAllVenues();
+        resourceDAO.getAllDepartments();
+
+        // Venue schedule: same pattern as the search index (SQL answers availability until it is built)
+        BackgroundJobs.runOnce("venue-schedule", resourceDAO::rebuildVenueSchedule);
+        BackgroundJobs.scheduleEvery("venue-schedule",
+                Long.getLong("unievent.venues.scheduleRebuildMillis", 15 * 60_000L), resourceDAO::rebuildVenueSchedule);
+
+        // Attendee counters: recompute from Attends now and then in case anything bypassed toggleRSVP
+        InteractionDAO interactionDAO = new InteractionDAO();
+        BackgroundJobs.scheduleEvery("attendee-count-repair",
+                Long.getLong("unievent.attendees.repairMillis", 60 * 60_000L), interactionDAO::repairAttendeeCounts);
+
+        // Donation totals: recompute DonationSummary from Donation in case anything bypassed addDonation
+        DonationDAO donationDAO = new DonationDAO();
+        BackgroundJobs.scheduleEvery("donation-summary-reconcile",
+                Long.getLong("unievent.donations.reconcileMillis", 60 * 60_000L), donationDAO::reconcileDonationSummaries);
+
+        // Donation leaderboard and rollups: backfilled once, then kept current by every committed donation
+        BackgroundJobs.runOnce("donation-analytics", donationDAO::rebuildDonationAnalytics);
+
+        // Donations: start the group-commit writer (addDonation writes directly until it runs)
+        DonationDAO.getDonationIngestor().start();
+
+        // Waitlist: start the promotion worker, then resync its mirror and catch missed signals periodically
+        InteractionDAO.getWaitlistEngine().start();
+        BackgroundJobs.runOnce("waitlist-sweep", interactionDAO::sweepWaitlists);
+        BackgroundJobs.scheduleEvery("waitlist-sweep",
+                Long.getLong("unievent.waitlist.sweepMillis", 60_000L), interactionDAO::sweepWaitlists);
+
+        // Comments: start the write-behind flusher (replays anything spooled at the last shutdown)
+        InteractionDAO.getCommentWriter().start();
+
+        // Live updates: SSE comment lines keep idle streams open through proxies and expose dead clients
+        BackgroundJobs.scheduleEvery("live-heartbeat",
+                Long.getLong("unievent.live.heartbeatMillis", 20_000L), InteractionDAO.getLiveUpdates()::heartbeat);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        BackgroundJobs.shutdown();
+        DaoExecutor.shutdown();
+        InteractionDAO.getWaitlistEngine().stop();
+        InteractionDAO.getCommentWriter().stop(); // flush (or spool) queued comments while the pool is still up
+        DonationDAO.getDonationIngestor().stop();   // commit queued donations while the pool is still up
+        InteractionDAO.getLiveUpdates().shutdown();
+        DBConnection.shutdown();
+    }
+}
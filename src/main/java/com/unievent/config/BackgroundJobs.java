@@ -0,0 +1,58 @@
+package com.unievent.config;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared scheduler for periodic maintenance (counter reconciliation, repair jobs, ...).
+ * Jobs run on a couple of daemon threads and never kill the scheduler by throwing.
+ */
+public class BackgroundJobs {
+
+    private static ScheduledExecutorService scheduler;
+
+    private static synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newScheduledThreadPool(2, r -> {
+                Thread t = new Thread(r, "unievent-background");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return scheduler;
+    }
+
+    // Run a job every periodMillis (first run after one period)
+    public static ScheduledFuture<?> scheduleEvery(String name, long periodMillis, Runnable job) {
+        return scheduler().scheduleWithFixedDelay(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Background job '" + name + "' failed.");
+                e.printStackTrace();
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Run a job once, as soon as a worker is free (e.g. warming an index without blocking deploy)
+    public static void runOnce(String name, Runnable job) {
+        scheduler().execute(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                System.err.println("❌ Background job '" + name + "' failed.");
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // Stop all jobs (call on webapp undeploy)
+    public static synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
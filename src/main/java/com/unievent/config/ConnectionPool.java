@@ -0,0 +1,358 @@
+package com.unievent.config;
+
+import com.unievent.metrics.LatencyHistogram;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded JDBC connection pool used behind DBConnection.
+ * Hands out proxies whose close() returns the physical connection to the pool.
+ */
+public class ConnectionPool {
+
+    private final PoolConfig config;
+
+    // Idle connections, most recently used first (keeps the hot set small)
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    // Connections currently lent out, for leak detection
+    private final Map<PooledConnection, Boolean> borrowed = new ConcurrentHashMap<>();
+
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger leaksDetected = new AtomicInteger();
+    private final LatencyHistogram acquireTimes = new LatencyHistogram();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+
+    public ConnectionPool(PoolConfig config) {
+        this.config = config;
+        this.permits = new Semaphore(config.maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "unievent-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = config.housekeepingIntervalMillis;
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+
+        fillToMinimum();
+    }
+
+    // 1. BORROW: Blocks up to acquireTimeout when all maxSize connections are in use
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is shut down");
+        }
+        long startNanos = System.nanoTime();
+
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(config.acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+        if (!acquired) {
+            throw new SQLTransientConnectionException("Timed out after " + config.acquireTimeoutMillis
+                    + "ms waiting for a connection (active=" + borrowed.size() + ", max=" + config.maxSize + ")");
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = openPhysical();
+            }
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.leakReported = false;
+            pooled.borrowSite = config.leakDetectionThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            borrowed.put(pooled, Boolean.TRUE);
+            acquireTimes.recordNanos(System.nanoTime() - startNanos);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Pops idle connections until one passes validation (or the idle list is empty)
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (!config.validateOnBorrow || isAlive(pooled)) {
+                return pooled;
+            }
+            discard(pooled);
+        }
+        return null;
+    }
+
+    private boolean isAlive(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(config.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection openPhysical() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", config.username);
+        props.setProperty("password", config.password);
+        boolean mysql = config.url.startsWith("jdbc:mysql:");
+        if (mysql && config.useServerPrepStmts) {
+            // Parse once on the server, then only ship parameters (pays off with the statement cache below)
+            props.setProperty("useServerPrepStmts", "true");
+        }
+        if (mysql && config.useCursorFetch) {
+            // Lets streaming reads use setFetchSize(n) instead of buffering the whole result
+            props.setProperty("useCursorFetch", "true");
+        }
+        if (mysql && config.rewriteBatchedStatements) {
+            // executeBatch() of an INSERT becomes one multi-row INSERT instead of one round trip per row
+            props.setProperty("rewriteBatchedStatements", "true");
+        }
+        if (mysql && !config.timeZone.isEmpty()) {
+            // Pins the session time_zone to the same zone the driver converts Timestamps with, so posted_at and
+            // donation_date stamped in Java line up with NOW()/CURDATE() in SQL whatever the server's default is
+            props.setProperty("connectionTimeZone", config.timeZone);
+            props.setProperty("forceConnectionTimeZoneToSession", "true");
+        }
+        Connection physical = DriverManager.getConnection(config.url, props);
+        totalConnections.incrementAndGet();
+        StatementCache statements = config.statementCacheSize > 0
+                ? new StatementCache(config.statementCacheSize, statementCounters)
+                : null;
+        return new PooledConnection(physical, statements);
+    }
+
+    // 2. RETURN: Called by the proxy's close(); resets session state before reuse
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            boolean reusable = !closed && !pooled.physical.isClosed();
+            if (reusable && pooled.statements != null) {
+                pooled.statements.parkAll();
+            }
+            if (reusable && !pooled.physical.getAutoCommit()) {
+                // A DAO forgot to commit; never leak half a transaction to the next borrower
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                pooled.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } else {
+                discard(pooled);
+            }
+        } catch (SQLException e) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.closePhysical();
+        } catch (SQLException e) {
+            // Already broken, nothing more to do
+        }
+    }
+
+    // 3. HOUSEKEEPING: Idle eviction, minimum size top-up and leak detection
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            Iterator<PooledConnection> it = idle.descendingIterator(); // oldest first
+            while (it.hasNext() && totalConnections.get() > config.minSize) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastUsedAt > config.idleTimeoutMillis && idle.removeFirstOccurrence(pooled)) {
+                    discard(pooled);
+                }
+            }
+
+            fillToMinimum();
+
+            if (config.leakDetectionThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowed.keySet()) {
+                    long heldFor = now - pooled.borrowedAt;
+                    if (!pooled.leakReported && heldFor > config.leakDetectionThresholdMillis) {
+                        pooled.leakReported = true;
+                        leaksDetected.incrementAndGet();
+                        System.err.println("⚠️ Possible connection leak: held for " + heldFor + "ms without close()");
+                        if (pooled.borrowSite != null) {
+                            pooled.borrowSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            // Never let the scheduled task die
+            e.printStackTrace();
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < config.minSize) {
+            try {
+                PooledConnection pooled = openPhysical();
+                pooled.lastUsedAt = System.currentTimeMillis();
+                idle.offerLast(pooled);
+            } catch (SQLException e) {
+                System.err.println("❌ Pool could not open a connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // 4. METRICS
+    public PoolStats getStats() {
+        PoolStats stats = new PoolStats();
+        stats.active = borrowed.size();
+        stats.idle = idle.size();
+        stats.waiting = waiting.get();
+        stats.total = totalConnections.get();
+        stats.maxSize = config.maxSize;
+        stats.leaksDetected = leaksDetected.get();
+        stats.acquireTime = acquireTimes.snapshot();
+        stats.statementCacheHits = statementCounters.hits.get();
+        stats.statementCacheMisses = statementCounters.misses.get();
+        stats.statementCacheEvictions = statementCounters.evictions.get();
+        return stats;
+    }
+
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+        // Borrowed connections are closed when their borrowers call close()
+    }
+
+    // Inner class for pool statistics
+    public static class PoolStats {
+        public int active;
+        public int idle;
+        public int waiting;
+        public int total;
+        public int maxSize;
+        public int leaksDetected;
+        public LatencyHistogram.Snapshot acquireTime;
+        public long statementCacheHits;
+        public long statementCacheMisses;
+        public long statementCacheEvictions;
+    }
+
+    /**
+     * One physical connection plus its pool bookkeeping.
+     */
+    class PooledConnection {
+        final Connection physical;
+        final StatementCache statements; // null when statement caching is disabled
+        volatile long borrowedAt;
+        volatile long lastUsedAt;
+        volatile boolean leakReported;
+        volatile Throwable borrowSite;
+
+        PooledConnection(Connection physical, StatementCache statements) {
+            this.physical = physical;
+            this.statements = statements;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handle(this));
+        }
+
+        void closePhysical() throws SQLException {
+            if (statements != null) {
+                statements.closeAll();
+            }
+            physical.close();
+        }
+    }
+
+    /**
+     * The object DAOs actually hold. Each borrow gets a fresh handle so a
+     * double close() or use-after-close cannot touch someone else's borrow.
+     */
+    private class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned = false;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (pooled.statements != null && method.getName().equals("prepareStatement")) {
+                // Only prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) are cached
+                if (args.length == 1) {
+                    return pooled.statements.prepare(pooled.physical, (Connection) proxy,
+                            (String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (args.length == 2 && args[1] instanceof Integer) {
+                    return pooled.statements.prepare(pooled.physical, (Connection) proxy,
+                            (String) args[0], (Integer) args[1]);
+                }
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -3,38 +3,77 @@ package com.unievent.config;
 
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DBConnection {
 
-    // XAMPP Default Settings
-    private static final String URL = "jdbc:mysql://localhost:3306/unievent_db"; // Make sure DB name matches yours
-    private static final String USERNAME = "root";
-    private static final String PASSWORD = ""; // Default XAMPP password is empty
+    // One pool per JVM, created on first use so the driver is only loaded once
+    private static volatile ConnectionPool pool;
+    // Not synchronized: building the pool opens connections, which would pin a virtual thread's carrier
+    private static final ReentrantLock POOL_LOCK = new ReentrantLock();
 
+    private static ConnectionPool pool() throws SQLException {
+        ConnectionPool p = pool;
+        if (p == null) {
+            POOL_LOCK.lock();
+            try {
+                p = pool;
+                if (p == null) {
+                    try {
+                        // 1. Load the MySQL Driver (once)
+                        Class.forName("com.mysql.cj.jdbc.Driver");
+                    } catch (ClassNotFoundException e) {
+                        throw new SQLException("MySQL Driver Not Found!", e);
+                    }
+                    // 2. Build the pool (XAMPP defaults, overridable via system properties)
+                    p = new ConnectionPool(PoolConfig.fromSystemProperties());
+                    pool = p;
+                }
+            } finally {
+                POOL_LOCK.unlock();
+            }
+        }
+        return p;
+    }
+
+    // Borrow a pooled connection. close() hands it back to the pool instead of closing the socket.
     public static Connection getConnection() {
-        Connection connection = null;
         try {
-            // 1. Load the MySQL Driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-
-            // 2. Establish Connection
-            connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-            System.out.println("✅ Database Connected Successfully!");
-
-        } catch (ClassNotFoundException e) {
-            System.err.println("❌ MySQL Driver Not Found!");
-            e.printStackTrace();
+            return pool().getConnection();
         } catch (SQLException e) {
             System.err.println("❌ Connection Failed! Check XAMPP and DB Name.");
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    // Pool metrics: active, idle, waiting and acquire-time histogram
+    public static ConnectionPool.PoolStats getPoolStats() {
+        ConnectionPool p = pool;
+        return p == null ? new ConnectionPool.PoolStats() : p.getStats();
+    }
+
+    // Close all idle connections and stop the housekeeper (call on webapp undeploy)
+    public static void shutdown() {
+        POOL_LOCK.lock();
+        try {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        } finally {
+            POOL_LOCK.unlock();
         }
-        return connection;
     }
 
     // A simple main method to TEST the connection right now
-    public static void main(String[] args) {
-        getConnection();
+    public static void main(String[] args) throws SQLException {
+        try (Connection conn = getConnection()) {
+            if (conn != null) {
+                System.out.println("✅ Database Connected Successfully!");
+            }
+        }
+        shutdown();
     }
 }
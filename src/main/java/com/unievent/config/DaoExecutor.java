@@ -0,0 +1,111 @@
+package com.unievent.config;
+
+import com.unievent.metrics.LatencyHistogram;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for DAO calls made off the servlet request thread (async servlets).
+ *
+ * Platform threads by default: unievent.async.threads workers plus unievent.async.queueCapacity
+ * waiting tasks. With -Dunievent.async.virtualThreads=true on a Java 21+ runtime each task gets a
+ * virtual thread instead, still capped at threads + queueCapacity tasks in flight (the connection
+ * pool bounds actual database concurrency either way). Work beyond the bound fails fast with
+ * RejectedExecutionException so callers can fall back instead of piling up.
+ *
+ * Every task is timed per stage name (queue wait included).
+ */
+public class DaoExecutor {
+
+    private static ExecutorService executor;
+    private static Semaphore inFlight; // only used for virtual threads
+    private static final Map<String, LatencyHistogram> STAGES = new ConcurrentHashMap<>();
+
+    private static synchronized ExecutorService executor() {
+        if (executor == null) {
+            int threads = Integer.getInteger("unievent.async.threads", 16);
+            int queueCapacity = Integer.getInteger("unievent.async.queueCapacity", 200);
+            if (Boolean.getBoolean("unievent.async.virtualThreads")) {
+                executor = newVirtualThreadExecutor();
+                if (executor != null) {
+                    inFlight = new Semaphore(threads + queueCapacity);
+                    return executor;
+                }
+            }
+            executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), r -> {
+                        Thread t = new Thread(r, "unievent-dao-async");
+                        t.setDaemon(true);
+                        return t;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    // Looked up reflectively so the code still compiles for and runs on Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.err.println("⚠️ Virtual threads need Java 21+, using platform threads for async DAO calls.");
+            return null;
+        }
+    }
+
+    /**
+     * Runs task on the executor and times it under stage. The future fails with
+     * RejectedExecutionException when the executor is saturated.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(String stage, Supplier<T> task) {
+        ExecutorService exec = executor();
+        Semaphore permits = inFlight;
+        if (permits != null && !permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Async DAO executor is full"));
+        }
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    recordStage(stage, System.nanoTime() - queuedAt);
+                    if (permits != null) permits.release();
+                }
+            }, exec);
+        } catch (RejectedExecutionException e) {
+            if (permits != null) permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Also used by callers for stages they time themselves (e.g. a whole request)
+    public static void recordStage(String stage, long nanos) {
+        STAGES.computeIfAbsent(stage, k -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    public static Map<String, LatencyHistogram.Snapshot> getStageTimings() {
+        Map<String, LatencyHistogram.Snapshot> timings = new TreeMap<>();
+        STAGES.forEach((stage, histogram) -> timings.put(stage, histogram.snapshot()));
+        return timings;
+    }
+
+    // Stop the workers (call on webapp undeploy)
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+            inFlight = null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.unievent.config;
+
+/**
+ * Settings for ConnectionPool.
+ * Every value can be overridden with a JVM system property, e.g. -Dunievent.db.pool.maxSize=30
+ */
+public class PoolConfig {
+
+    // XAMPP Default Settings
+    public String url = "jdbc:mysql://localhost:3306/unievent_db";
+    public String username = "root";
+    public String password = ""; // Default XAMPP password is empty
+
+    public int minSize = 2;
+    public int maxSize = 20;
+    public long acquireTimeoutMillis = 5_000;
+    public long idleTimeoutMillis = 10 * 60_000;
+    public boolean validateOnBorrow = true;
+    public int validationTimeoutSeconds = 2;
+    public long leakDetectionThresholdMillis = 60_000; // 0 disables leak detection
+    public long housekeepingIntervalMillis = 30_000;
+    public int statementCacheSize = 64; // per connection, 0 disables the cache
+    public boolean useServerPrepStmts = true;
+    public boolean useCursorFetch = true; // only affects statements that call setFetchSize()
+    public boolean rewriteBatchedStatements = true;
+    // Session time zone; "LOCAL" = the JVM's zone, so NOW() and timestamps stamped in Java agree. Empty leaves the server's
+    public String timeZone = "LOCAL";
+
+    public static PoolConfig fromSystemProperties() {
+        PoolConfig c = new PoolConfig();
+        c.url = System.getProperty("unievent.db.url", c.url);
+        c.username = System.getProperty("unievent.db.username", c.username);
+        c.password = System.getProperty("unievent.db.password", c.password);
+        c.minSize = Integer.getInteger("unievent.db.pool.minSize", c.minSize);
+        c.maxSize = Integer.getInteger("unievent.db.pool.maxSize", c.maxSize);
+        c.acquireTimeoutMillis = Long.getLong("unievent.db.pool.acquireTimeoutMillis", c.acquireTimeoutMillis);
+        c.idleTimeoutMillis = Long.getLong("unievent.db.pool.idleTimeoutMillis", c.idleTimeoutMillis);
+        c.validateOnBorrow = Boolean.parseBoolean(
+                System.getProperty("unievent.db.pool.validateOnBorrow", String.valueOf(c.validateOnBorrow)));
+        c.validationTimeoutSeconds = Integer.getInteger("unievent.db.pool.validationTimeoutSeconds", c.validationTimeoutSeconds);
+        c.leakDetectionThresholdMillis = Long.getLong("unievent.db.pool.leakDetectionThresholdMillis", c.leakDetectionThresholdMillis);
+        c.housekeepingIntervalMillis = Long.getLong("unievent.db.pool.housekeepingIntervalMillis", c.housekeepingIntervalMillis);
+        c.statementCacheSize = Integer.getInteger("unievent.db.statementCacheSize", c.statementCacheSize);
+        c.useServerPrepStmts = Boolean.parseBoolean(
+                System.getProperty("unievent.db.useServerPrepStmts", String.valueOf(c.useServerPrepStmts)));
+        c.useCursorFetch = Boolean.parseBoolean(
+                System.getProperty("unievent.db.useCursorFetch", String.valueOf(c.useCursorFetch)));
+        c.rewriteBatchedStatements = Boolean.parseBoolean(
+                System.getProperty("unievent.db.rewriteBatchedStatements", String.valueOf(c.rewriteBatchedStatements)));
+        c.timeZone = System.getProperty("unievent.db.timeZone", c.timeZone);
+
+        if (c.maxSize < 1) c.maxSize = 1;
+        if (c.minSize > c.maxSize) c.minSize = c.maxSize;
+        return c;
+    }
+}
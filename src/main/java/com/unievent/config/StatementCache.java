@@ -0,0 +1,210 @@
+package com.unievent.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-connection LRU cache of PreparedStatements keyed by SQL text.
+ * DAOs keep calling prepareStatement()/close() as before; close() on a cached
+ * statement just parks it for the next borrower of the same physical connection.
+ */
+class StatementCache {
+
+    private final int maxSize;
+    private final Counters counters;
+
+    // Access-ordered so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    // A lock rather than synchronized: prepare/park talk to the server and must not pin virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+
+    StatementCache(int maxSize, Counters counters) {
+        this.maxSize = maxSize;
+        this.counters = counters;
+    }
+
+    /**
+     * Returns a logical statement for the SQL. A statement already lent out in the
+     * same borrow (e.g. nested use of the same query) gets an uncached one instead.
+     */
+    PreparedStatement prepare(Connection physical, Connection handle,
+                              String sql, int autoGeneratedKeys) throws SQLException {
+        lock.lock();
+        try {
+            return prepareLocked(physical, handle, sql, autoGeneratedKeys);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private PreparedStatement prepareLocked(Connection physical, Connection handle,
+                                            String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + "|" + sql;
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse) {
+            counters.hits.incrementAndGet();
+            cached.inUse = true;
+            return cached.newHandle(handle);
+        }
+
+        counters.misses.incrementAndGet();
+        PreparedStatement ps = physical.prepareStatement(sql, autoGeneratedKeys);
+        if (cached != null) {
+            return ps; // Concurrent use of the same SQL on this connection: don't cache the duplicate
+        }
+
+        cached = new CachedStatement(key, ps);
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictOverflow();
+        return cached.newHandle(handle);
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            it.remove();
+            counters.evictions.incrementAndGet();
+            if (eldest.inUse) {
+                eldest.evicted = true; // Closed for real once its user is done with it
+            } else {
+                closeQuietly(eldest.physical);
+            }
+        }
+    }
+
+    private void park(CachedStatement cached) {
+        lock.lock();
+        try {
+            parkLocked(cached);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void parkLocked(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            closeQuietly(cached.physical);
+            return;
+        }
+        try {
+            // Leave no state behind for the next caller
+            ResultSet rs = cached.physical.getResultSet();
+            if (rs != null) rs.close();
+            cached.physical.clearParameters();
+        } catch (SQLException e) {
+            statements.remove(cached.key);
+            closeQuietly(cached.physical);
+        }
+    }
+
+    // Called when the connection goes back to the pool: reclaim anything the borrower forgot to close
+    void parkAll() {
+        lock.lock();
+        try {
+            for (CachedStatement cached : statements.values().toArray(new CachedStatement[0])) {
+                if (cached.inUse) {
+                    parkLocked(cached);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called when the physical connection is closed or discarded
+    void closeAll() {
+        lock.lock();
+        try {
+            for (CachedStatement cached : statements.values()) {
+                closeQuietly(cached.physical);
+            }
+            statements.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return statements.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void closeQuietly(Statement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            // Ignore, the connection is probably gone already
+        }
+    }
+
+    // Hit/miss counters shared by all connections of one pool
+    static class Counters {
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+    }
+
+    private class CachedStatement {
+        final String key;
+        final PreparedStatement physical;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(String key, PreparedStatement physical) {
+            this.key = key;
+            this.physical = physical;
+        }
+
+        PreparedStatement newHandle(Connection connectionHandle) {
+            boolean[] closed = { false };
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (!closed[0]) {
+                                    closed[0] = true;
+                                    park(this);
+                                }
+                                return null;
+                            case "isClosed":
+                                return closed[0] || physical.isClosed();
+                            case "getConnection":
+                                return connectionHandle;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        if (closed[0]) {
+                            throw new SQLException("Statement is closed");
+                        }
+                        try {
+                            return method.invoke(physical, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.unievent.controller;
 
+import com.unievent.config.DaoExecutor;
 import com.unievent.dao.AdminDAO;
-import com.unievent.model.Event;
+import com.unievent.dao.EventAdvancedDAO;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -9,11 +13,17 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-@WebServlet("/admin/dashboard")
+@WebServlet(urlPatterns = "/admin/dashboard", asyncSupported = true)
 public class AdminDashboardServlet extends HttpServlet {
 
+    // Past this the page renders with whatever finished, plus a warning
+    private static final long TIMEOUT_MILLIS = Long.getLong("unievent.async.dashboardTimeoutMillis", 3_000L);
+    private static final int QUEUE_PAGE_SIZE = 50;
+
     private AdminDAO adminDAO = new AdminDAO();
 
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
@@ -26,17 +36,49 @@ public class AdminDashboardServlet extends HttpServlet {
             return;
         }
 
-        // 2. Fetch Data
-        int[] stats = adminDAO.getSystemStats();
-        List<Event> pendingEvents = adminDAO.getPendingEvents();
+        // 2. Fetch Data: both queries run concurrently off the request thread, which goes back to the container
+        long startNanos = System.nanoTime();
+        AsyncContext async = request.startAsync();
+        async.setTimeout(TIMEOUT_MILLIS + 1_000); // Container backstop; the futures time out first
+
+        CompletableFuture<int[]> stats = DaoExecutor.supplyAsync("dashboard.stats", adminDAO::getSystemStats);
+        String cursor = request.getParameter("cursor"); // Approval queue page (null = oldest first)
+        CompletableFuture<EventAdvancedDAO.EventPage> pending = DaoExecutor.supplyAsync("dashboard.pending",
+                () -> adminDAO.getPendingQueuePage(cursor, QUEUE_PAGE_SIZE));
+
+        AtomicBoolean rendered = new AtomicBoolean(false);
+        Runnable render = () -> {
+            if (!rendered.compareAndSet(false, true)) {
+                return;
+            }
+            // 3. Attach data to Request (fallbacks for anything that failed or is still running)
+            int[] s = stats.isDone() && !stats.isCompletedExceptionally() ? stats.join() : new int[]{0, 0, 0};
+            EventAdvancedDAO.EventPage p = pending.isDone() && !pending.isCompletedExceptionally()
+                    ? pending.join() : new EventAdvancedDAO.EventPage();
+            if (stats.isCompletedExceptionally() || pending.isCompletedExceptionally()
+                    || !stats.isDone() || !pending.isDone()) {
+                request.setAttribute("error", "⚠️ Some dashboard data is unavailable right now. Refresh to retry.");
+            }
+            request.setAttribute("pendingCount", s[0]);
+            request.setAttribute("userCount", s[1]);
+            request.setAttribute("totalEventCount", s[2]);
+            request.setAttribute("pendingEventsList", p.events); // List columns only; descriptions via /admin/eventDescription
+            request.setAttribute("pendingNextCursor", p.nextCursor);
+            DaoExecutor.recordStage("dashboard.total", System.nanoTime() - startNanos);
+
+            // 4. Forward to JSP
+            async.dispatch("/admin_dashboard.jsp");
+        };
 
-        // 3. Attach data to Request
-        request.setAttribute("pendingCount", stats[0]);
-        request.setAttribute("userCount", stats[1]);
-        request.setAttribute("totalEventCount", stats[2]);
-        request.setAttribute("pendingEventsList", pendingEvents);
+        async.addListener(new AsyncListener() {
+            @Override public void onTimeout(AsyncEvent event) { render.run(); }
+            @Override public void onError(AsyncEvent event) { render.run(); }
+            @Override public void onComplete(AsyncEvent event) { }
+            @Override public void onStartAsync(AsyncEvent event) { }
+        });
 
-        // 4. Forward to JSP
-        request.getRequestDispatcher("/admin_dashboard.jsp").forward(request, response);
+        CompletableFuture.allOf(stats, pending)
+                .orTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> render.run());
     }
-}
\ No newline at end of file
+}
@@ -1,45 +1,141 @@
 package com.unievent.controller;
 
+import com.unievent.config.DaoExecutor;
 import com.unievent.dao.AdminDAO;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
-@WebServlet("/admin/eventAction")
+@WebServlet(urlPatterns = "/admin/eventAction", asyncSupported = true)
 public class AdminEventActionServlet extends HttpServlet {
 
+    private static final long TIMEOUT_MILLIS = Long.getLong("unievent.async.actionTimeoutMillis", 5_000L);
+
     private AdminDAO adminDAO = new AdminDAO();
 
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
+        HttpSession session = request.getSession();
+        String dashboard = request.getContextPath() + "/admin/dashboard";
+        List<Integer> eventIds = new ArrayList<>();
+        String newStatus;
         try {
-            int eventId = Integer.parseInt(request.getParameter("event_id"));
-            String action = request.getParameter("action"); // 'approve' or 'reject'
-
-            String newStatus = action.equalsIgnoreCase("approve") ? "APPROVED" : "REJECTED";
-
-            // Call the thread-safe method
-            String result = adminDAO.updateEventStatus(eventId, newStatus);
-
-            if (result.equals("SUCCESS")) {
-                request.getSession().setAttribute("msg", "Event " + newStatus + " successfully.");
-            } else if (result.equals("ALREADY_HANDLED")) {
-                // Alert the admin that someone else beat them to it!
-                request.getSession().setAttribute("error", "⚠️ Alert: Another admin has already processed this event!");
-            } else {
-                request.getSession().setAttribute("error", "System Error: Could not update database.");
+            // One event_id per event; the bulk form on the dashboard submits many
+            for (String id : request.getParameterValues("event_id")) {
+                eventIds.add(Integer.parseInt(id));
             }
+            String action = request.getParameter("action"); // 'approve' or 'reject'
 
+            newStatus = action.equalsIgnoreCase("approve") ? "APPROVED" : "REJECTED";
         } catch (Exception e) {
             e.printStackTrace();
-            request.getSession().setAttribute("error", "System Error: " + e.getMessage());
+            session.setAttribute("error", "System Error: " + e.getMessage());
+            response.sendRedirect(dashboard);
+            return;
+        }
+
+        // Call the thread-safe method off the request thread
+        long startNanos = System.nanoTime();
+        AsyncContext async = request.startAsync();
+        async.setTimeout(TIMEOUT_MILLIS + 1_000);
+
+        if (eventIds.size() > 1) {
+            bulkUpdate(async, session, dashboard, eventIds, newStatus, startNanos);
+            return;
         }
+        int eventId = eventIds.get(0);
+
+        DaoExecutor.supplyAsync("eventAction.update", () -> adminDAO.updateEventStatus(eventId, newStatus))
+                .orTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        if (cause instanceof TimeoutException) {
+                            // The update may still commit; the dashboard shows the real state on refresh
+                            session.setAttribute("error", "⚠️ The database is slow; refresh in a moment to see if the event was " + newStatus + ".");
+                        } else if (cause instanceof RejectedExecutionException) {
+                            session.setAttribute("error", "⚠️ The server is busy. Please try again.");
+                        } else {
+                            cause.printStackTrace();
+                            session.setAttribute("error", "System Error: " + cause.getMessage());
+                        }
+                    } else if (result.equals("SUCCESS")) {
+                        session.setAttribute("msg", "Event " + newStatus + " successfully.");
+                    } else if (result.equals("ALREADY_HANDLED")) {
+                        // Alert the admin that someone else beat them to it!
+                        session.setAttribute("error", "⚠️ Alert: Another admin has already processed this event!");
+                    } else {
+                        session.setAttribute("error", "System Error: Could not update database.");
+                    }
+                    DaoExecutor.recordStage("eventAction.total", System.nanoTime() - startNanos);
+
+                    // Redirect back to dashboard to refresh the list
+                    try {
+                        ((HttpServletResponse) async.getResponse()).sendRedirect(dashboard);
+                    } catch (IOException | IllegalStateException e) {
+                        e.printStackTrace();
+                    } finally {
+                        async.complete();
+                    }
+                });
+    }
+
+    // Many events in one transaction; the flash message summarises the per-event outcomes
+    private void bulkUpdate(AsyncContext async, HttpSession session, String dashboard,
+                            List<Integer> eventIds, String newStatus, long startNanos) {
+        DaoExecutor.supplyAsync("eventAction.bulkUpdate", () -> adminDAO.updateEventStatuses(eventIds, newStatus))
+                .orTimeout(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                .whenComplete((results, error) -> {
+                    int done = 0;
+                    int handled = 0;
+                    int failed = 0;
+                    if (error == null) {
+                        for (Map.Entry<Integer, String> r : results.entrySet()) {
+                            if (r.getValue().equals("SUCCESS")) done++;
+                            else if (r.getValue().equals("ALREADY_HANDLED")) handled++;
+                            else failed++;
+                        }
+                    }
+
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        if (cause instanceof TimeoutException) {
+                            session.setAttribute("error", "⚠️ The database is slow; refresh in a moment to see which events were " + newStatus + ".");
+                        } else if (cause instanceof RejectedExecutionException) {
+                            session.setAttribute("error", "⚠️ The server is busy. Please try again.");
+                        } else {
+                            cause.printStackTrace();
+                            session.setAttribute("error", "System Error: " + cause.getMessage());
+                        }
+                    } else if (failed > 0) {
+                        session.setAttribute("error", "System Error: Could not update database.");
+                    } else {
+                        session.setAttribute("msg", done + " event(s) " + newStatus + " successfully.");
+                        if (handled > 0) {
+                            session.setAttribute("error", "⚠️ Alert: " + handled + " event(s) were already processed by another admin.");
+                        }
+                    }
+                    DaoExecutor.recordStage("eventAction.total", System.nanoTime() - startNanos);
 
-        // Redirect back to dashboard to refresh the list
-        response.sendRedirect(request.getContextPath() + "/admin/dashboard");
+                    try {
+                        ((HttpServletResponse) async.getResponse()).sendRedirect(dashboard);
+                    } catch (IOException | IllegalStateException e) {
+                        e.printStackTrace();
+                    } finally {
+                        async.complete();
+                    }
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package com.unievent.controller;
+
+import com.unievent.dao.AdminDAO;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+
+// Full description of one event, loaded when the admin expands an item in the approval queue
+@WebServlet("/admin/eventDescription")
+public class AdminEventDescriptionServlet extends HttpServlet {
+
+    private AdminDAO adminDAO = new AdminDAO();
+
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // 1. Security Check: Is user logged in?
+        HttpSession session = request.getSession();
+        if (session.getAttribute("admin_email") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        // 2. Fetch Data
+        int eventId;
+        try {
+            eventId = Integer.parseInt(request.getParameter("event_id"));
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "event_id is required");
+            return;
+        }
+        String description = adminDAO.getEventDescription(eventId);
+        if (description == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // 3. Plain text; the page inserts it as text, never as HTML
+        response.setContentType("text/plain");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "private, max-age=60");
+        response.getWriter().write(description);
+    }
+}
@@ -0,0 +1,192 @@
+package com.unievent.controller;
+
+import com.unievent.dao.DonationDAO;
+import com.unievent.dao.InteractionDAO;
+import com.unievent.service.LiveUpdateBus;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full donor or attendee list of one event as a download, streamed row by row.
+ *
+ *   GET /admin/export?type=donations|attendees&event_id=42&format=csv|ndjson[&gzip=true]
+ *
+ * Rows go from a forward-only ResultSet straight to the response, so memory stays flat however
+ * long the list is. The CSV header goes out before the query runs and the first row is flushed
+ * as soon as it arrives. gzip=true sends a .gz file (flushes still push data through).
+ * If the query fails part-way the response is aborted rather than ended, so a truncated
+ * file is never mistaken for a complete one.
+ */
+@WebServlet("/admin/export")
+public class AdminExportServlet extends HttpServlet {
+
+    private static final String[] DONATION_COLUMNS =
+            {"donation_id", "user_id", "donor_name", "event_id", "amount", "donation_date"};
+    private static final String[] ATTENDEE_COLUMNS =
+            {"user_id", "user_name", "event_id", "rsvp_status", "rsvp_date"};
+
+    private DonationDAO donationDAO = new DonationDAO();
+    private InteractionDAO interactionDAO = new InteractionDAO();
+
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // 1. Security Check: Is user logged in?
+        HttpSession session = request.getSession();
+        if (session.getAttribute("admin_email") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        // 2. Validate input
+        String type = request.getParameter("type");
+        String format = request.getParameter("format") == null ? "csv" : request.getParameter("format");
+        boolean gzip = Boolean.parseBoolean(request.getParameter("gzip"));
+        int eventId;
+        try {
+            eventId = Integer.parseInt(request.getParameter("event_id"));
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "event_id is required");
+            return;
+        }
+        if (!"donations".equals(type) && !"attendees".equals(type)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "type must be donations or attendees");
+            return;
+        }
+        if (!"csv".equals(format) && !"ndjson".equals(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "format must be csv or ndjson");
+            return;
+        }
+
+        // 3. Headers, then rows as they come
+        String fileName = type + "-event-" + eventId + "." + format + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip"
+                : "csv".equals(format) ? "text/csv; charset=UTF-8" : "application/x-ndjson; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        response.setHeader("Cache-Control", "no-store");
+        response.setHeader("X-Accel-Buffering", "no"); // Don't let a reverse proxy hold the stream
+
+        OutputStream raw = response.getOutputStream();
+        OutputStream body = gzip ? new GZIPOutputStream(raw, 8192, true) : raw;
+        RowWriter rows = new RowWriter(new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), 16 * 1024),
+                "csv".equals(format), "donations".equals(type) ? DONATION_COLUMNS : ATTENDEE_COLUMNS);
+
+        int delivered;
+        try {
+            rows.start();
+            if ("donations".equals(type)) {
+                delivered = donationDAO.streamDonationsForEvent(eventId, d -> rows.write(
+                        d.getDonationId(), d.getUserId(), d.getDonorName(), d.getEventId(), d.getAmount(), d.getDonationDate()));
+            } else {
+                delivered = interactionDAO.streamEventAttendees(eventId, a -> rows.write(
+                        a.getUserId(), a.getUserName(), a.getEventId(), a.getRsvpStatus(), a.getRsvpDate()));
+            }
+        } catch (UncheckedIOException e) {
+            return; // Client went away; the DAO has already closed the result set
+        }
+
+        if (delivered < 0) {
+            // Already committed, so no error page: fail the transfer instead of ending it cleanly
+            throw new IOException("Export of " + type + " for event " + eventId + " failed after "
+                    + rows.count + " row(s)");
+        }
+        rows.finish();
+    }
+
+    // CSV (RFC 4180 quoting) or one JSON object per line; IOExceptions leave as UncheckedIOException
+    // so they can cross the DAO's Consumer
+    private static class RowWriter {
+        private final Writer out;
+        private final boolean csv;
+        private final String[] columns;
+        int count = 0;
+
+        RowWriter(Writer out, boolean csv, String[] columns) {
+            this.out = out;
+            this.csv = csv;
+            this.columns = columns;
+        }
+
+        void start() {
+            try {
+                if (csv) {
+                    out.write(String.join(",", columns));
+                    out.write("\r\n");
+                    out.flush(); // First bytes before the query has even run
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(Object... values) {
+            try {
+                if (csv) {
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) out.write(',');
+                        out.write(csvField(values[i]));
+                    }
+                    out.write("\r\n");
+                } else {
+                    out.write('{');
+                    for (int i = 0; i < values.length; i++) {
+                        if (i > 0) out.write(',');
+                        out.write('"');
+                        out.write(columns[i]);
+                        out.write("\":");
+                        out.write(jsonValue(values[i]));
+                    }
+                    out.write("}\n");
+                }
+                if (++count == 1) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            out.close(); // Writes the gzip trailer when compressing
+        }
+
+        private static String csvField(Object v) {
+            if (v == null) return "";
+            String s = text(v);
+            if (!s.isEmpty() && v instanceof String && "=+-@".indexOf(s.charAt(0)) >= 0) {
+                s = "'" + s; // Keep spreadsheets from evaluating user-entered names as formulas
+            }
+            if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+                return '"' + s.replace("\"", "\"\"") + '"';
+            }
+            return s;
+        }
+
+        private static String jsonValue(Object v) {
+            if (v == null) return "null";
+            if (v instanceof Number) return text(v);
+            return LiveUpdateBus.quote(text(v));
+        }
+
+        // Exact decimals, ISO-8601 local timestamps
+        private static String text(Object v) {
+            if (v instanceof BigDecimal) return ((BigDecimal) v).toPlainString();
+            if (v instanceof Timestamp) return ((Timestamp) v).toLocalDateTime().toString();
+            return String.valueOf(v);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.unievent.controller;
+
+import com.unievent.dao.InteractionDAO;
+import com.unievent.service.LiveUpdateBus;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events stream of one event's live updates: "comment" and "attendees" frames.
+ *
+ *   GET /events/stream?eventId=42   (consume with new EventSource(...))
+ *
+ * The request goes async and writes with non-blocking I/O, so an idle stream holds a socket
+ * and a small buffer but no thread. Frames come from InteractionDAO's LiveUpdateBus.
+ */
+@WebServlet(urlPatterns = "/events/stream", asyncSupported = true)
+public class EventStreamServlet extends HttpServlet {
+
+    private InteractionDAO interactionDAO = new InteractionDAO();
+
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // 1. Validate input
+        int eventId;
+        try {
+            eventId = Integer.parseInt(request.getParameter("eventId"));
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "eventId is required");
+            return;
+        }
+
+        // 2. Subscribe before going async, so a full bus can still answer with a plain 503
+        SseStream stream = new SseStream("retry: 5000\n\n");
+        LiveUpdateBus bus = InteractionDAO.getLiveUpdates();
+        LiveUpdateBus.Subscription sub = bus.subscribe(eventId, stream::signal, stream::close);
+        if (sub == null) {
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many live connections");
+            return;
+        }
+        // Snapshot read after subscribing, on the event's lane: no update between the two is lost or overtaken
+        bus.sendTo(sub, "attendees", () -> InteractionDAO.attendeesJson(eventId, interactionDAO.getAttendeeCount(eventId)));
+
+        // 3. Hand the response over to the non-blocking writer
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // Don't let a reverse proxy buffer the stream
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0); // Open until the client leaves; heartbeats reveal dead sockets
+        stream.start(bus, sub, async, response.getOutputStream());
+    }
+
+    // One client connection. signal() may be called from bus and container threads at once;
+    // the wip counter makes sure only one of them writes at a time and no signal is lost.
+    private static class SseStream implements WriteListener, AsyncListener {
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile String greeting;
+        private volatile LiveUpdateBus bus;
+        private volatile LiveUpdateBus.Subscription sub;
+        private volatile AsyncContext async;
+        private volatile ServletOutputStream out;
+
+        SseStream(String greeting) {
+            this.greeting = greeting;
+        }
+
+        void start(LiveUpdateBus bus, LiveUpdateBus.Subscription sub, AsyncContext async, ServletOutputStream out) {
+            this.bus = bus;
+            this.sub = sub;
+            this.async = async;
+            async.addListener(this);
+            this.out = out;
+            out.setWriteListener(this); // Container calls onWritePossible() once the stream can take data
+            if (sub.isClosed()) {
+                close(); // Dropped before we got here
+            }
+        }
+
+        void signal() {
+            if (wip.getAndIncrement() != 0) {
+                return; // Whoever is writing will loop once more
+            }
+            do {
+                drain();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        // Write buffered frames while the socket accepts them; onWritePossible() resumes the rest
+        private void drain() {
+            ServletOutputStream o = out;
+            if (o == null || sub.isClosed()) {
+                return;
+            }
+            try {
+                boolean wrote = false;
+                while (o.isReady()) {
+                    String frame = greeting != null ? greeting : sub.poll();
+                    if (frame == null) {
+                        if (wrote) o.flush();
+                        return;
+                    }
+                    greeting = null;
+                    o.write(frame.getBytes(StandardCharsets.UTF_8));
+                    wrote = true;
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            if (bus != null) {
+                bus.unsubscribe(sub);
+            }
+            AsyncContext a = async;
+            if (a != null) {
+                try {
+                    a.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            signal();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            bus.unsubscribe(sub);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -1,64 +1,166 @@
 package com.unievent.dao;
 
+import com.unievent.cache.DonationAnalytics;
+import com.unievent.cache.DonationTotals;
 import com.unievent.config.DBConnection;
 import com.unievent.model.Donation;
+import com.unievent.service.DonationIngestor;
 import java.sql.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 
 /**
  * Advanced Donation DAO with Financial Calculations
  * Demonstrates SQL Aggregate Functions (SUM, AVG, COUNT)
+ * Per-event totals come from the DonationSummary running aggregate, kept in step by addDonation
  */
 public class DonationDAO {
 
-    // 1. THREAD-SAFE: Get Total Donations for an Event (Aggregate Function)
+    // Running count/sum/max per event, mirrored from DonationSummary (fundraiser widgets never touch Donation)
+    private static final DonationTotals DONATION_TOTALS = new DonationTotals();
+
+    // Group commit with idempotency keys: addDonation() waits while one thread writes batches
+    private static final DonationIngestor INGESTOR = new DonationIngestor(
+            batch -> new DonationDAO().insertDonationBatch(batch),
+            Integer.getInteger("unievent.donations.queueCapacity", 10_000),
+            Integer.getInteger("unievent.donations.batchSize", 100),
+            Long.getLong("unievent.donations.flushMillis", 5L),
+            Integer.getInteger("unievent.donations.keyCacheSize", 100_000));
+
+    private static final long COMMIT_WAIT_MILLIS = Long.getLong("unievent.donations.commitWaitMillis", 5_000L);
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
+    // Rows pulled per round trip when streaming exports
+    private static final int STREAM_FETCH_SIZE = 1_000;
+    // Ids per IN (...) list in the multi-get methods
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+
+    public static DonationIngestor getDonationIngestor() {
+        return INGESTOR;
+    }
+
+    // Top donors and minute/hour/day rollups per event, backfilled once from Donation at startup
+    private static final DonationAnalytics ANALYTICS = new DonationAnalytics(
+            Integer.getInteger("unievent.donations.topK", 100),
+            Long.getLong("unievent.donations.minuteRetentionHours", 48L),
+            Long.getLong("unievent.donations.hourRetentionDays", 90L));
+
+    public static DonationAnalytics getDonationAnalytics() {
+        return ANALYTICS;
+    }
+
+    // 1. THREAD-SAFE: Get Total Donations for an Event (from the running aggregate)
     public BigDecimal getTotalDonationsForEvent(int eventId) {
-        String sql = "SELECT COALESCE(SUM(amount), 0) as total FROM Donation WHERE event_id = ?";
-        
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, eventId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                return rs.getBigDecimal("total");
+        return getTotals(eventId).sum;
+    }
+
+    // 1b. MULTI-GET: Total donations for many events (0 for none), in the order given. Cached
+    // totals are served from memory; the misses are read from DonationSummary in chunked IN lists
+    // on one connection and loaded into the cache.
+    public Map<Integer, BigDecimal> getTotalDonations(Collection<Integer> eventIds) {
+        Map<Integer, BigDecimal> totals = new LinkedHashMap<>();
+        List<Integer> misses = new ArrayList<>();
+        for (Integer id : eventIds) {
+            if (totals.containsKey(id)) continue;
+            DonationTotals.Totals cached = DONATION_TOTALS.get(id);
+            totals.put(id, cached != null ? cached.sum : BigDecimal.ZERO);
+            if (cached == null) {
+                misses.add(id);
+            }
+        }
+        if (misses.isEmpty()) {
+            return totals;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < misses.size(); from += MULTI_GET_CHUNK_SIZE) {
+                List<Integer> chunk = misses.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, misses.size()));
+                String sql = "SELECT event_id, donation_count, total_amount, max_amount FROM DonationSummary " +
+                             "WHERE event_id IN (" + SqlUtil.placeholders(chunk.size()) + ")";
+
+                Map<Integer, Long> stamps = new HashMap<>();
+                for (Integer id : chunk) {
+                    stamps.put(id, DONATION_TOTALS.loadStamp(id));
+                }
+                Map<Integer, DonationTotals.Totals> fromDb = new HashMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        fromDb.put(rs.getInt("event_id"), new DonationTotals.Totals(rs.getLong("donation_count"),
+                                rs.getBigDecimal("total_amount"), rs.getBigDecimal("max_amount")));
+                    }
+                }
+                for (Integer id : chunk) {
+                    // No row = no donations yet; cached only if no donation committed during the read
+                    DonationTotals.Totals row = fromDb.getOrDefault(id, DonationTotals.Totals.EMPTY);
+                    DONATION_TOTALS.load(id, stamps.get(id), row);
+                    DonationTotals.Totals loaded = DONATION_TOTALS.get(id);
+                    totals.put(id, loaded != null ? loaded.sum : row.sum);
+                }
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return BigDecimal.ZERO;
+        return totals;
     }
 
-    // 2. Get Donation Statistics for an Event
+    // 2. Get Donation Statistics for an Event (O(1): cached summary row, average derived)
     public DonationStats getDonationStats(int eventId) {
-        String sql = "SELECT " +
-                     "COUNT(*) as donor_count, " +
-                     "COALESCE(SUM(amount), 0) as total_amount, " +
-                     "COALESCE(AVG(amount), 0) as avg_donation, " +
-                     "COALESCE(MAX(amount), 0) as highest_donation " +
-                     "FROM Donation WHERE event_id = ?";
-        
+        DonationTotals.Totals t = getTotals(eventId);
+        DonationStats stats = new DonationStats();
+        stats.donorCount = (int) t.count;
+        stats.totalAmount = t.sum;
+        stats.avgDonation = t.average();
+        stats.highestDonation = t.max;
+        return stats;
+    }
+
+    // Cached totals; on a miss, one primary-key read of DonationSummary (no row = no donations yet)
+    private DonationTotals.Totals getTotals(int eventId) {
+        DonationTotals.Totals cached = DONATION_TOTALS.get(eventId);
+        if (cached != null) {
+            return cached;
+        }
+
+        String sql = "SELECT donation_count, total_amount, max_amount FROM DonationSummary WHERE event_id = ?";
+
+        long stamp = DONATION_TOTALS.loadStamp(eventId);
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+
             stmt.setInt(1, eventId);
             ResultSet rs = stmt.executeQuery();
-            
+            DonationTotals.Totals fromDb = DonationTotals.Totals.EMPTY;
             if (rs.next()) {
-                DonationStats stats = new DonationStats();
-                stats.donorCount = rs.getInt("donor_count");
-                stats.totalAmount = rs.getBigDecimal("total_amount");
-                stats.avgDonation = rs.getBigDecimal("avg_donation");
-                stats.highestDonation = rs.getBigDecimal("highest_donation");
-                return stats;
+                fromDb = new DonationTotals.Totals(rs.getLong("donation_count"),
+                        rs.getBigDecimal("total_amount"), rs.getBigDecimal("max_amount"));
             }
+            DONATION_TOTALS.load(eventId, stamp, fromDb);
+            DonationTotals.Totals loaded = DONATION_TOTALS.get(eventId);
+            return loaded != null ? loaded : fromDb;
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return new DonationStats();
+        return DonationTotals.Totals.EMPTY;
     }
 
     // 3. Get All Donations for an Event with Donor Names
@@ -92,22 +194,233 @@ public class DonationDAO {
         return donations;
     }
 
-    // 4. Record a New Donation
-    public boolean addDonation(int userId, int eventId, BigDecimal amount) {
-        String sql = "INSERT INTO Donation (user_id, event_id, amount, donation_date) " +
-                     "VALUES (?, ?, ?, NOW())";
-        
+    // 3b. STREAMING EXPORT: Every donation of an event, pushed to the consumer as rows arrive.
+    // Primary-key order, which idx_donation_event already holds (no sort before the first row).
+    // Returns the number of rows delivered, or -1 if the query failed part-way.
+    public int streamDonationsForEvent(int eventId, Consumer<Donation> consumer) {
+        String sql = "SELECT d.donation_id, d.user_id, d.event_id, d.amount, d.donation_date, " +
+                     "u.user_name as donor_name " +
+                     "FROM Donation d " +
+                     "JOIN User u ON d.user_id = u.user_id " +
+                     "WHERE d.event_id = ? " +
+                     "ORDER BY d.donation_id";
+
+        int delivered = 0;
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            stmt.setInt(2, eventId);
-            stmt.setBigDecimal(3, amount);
-            
-            return stmt.executeUpdate() > 0;
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // With useCursorFetch the driver reads STREAM_FETCH_SIZE rows at a time
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            stmt.setInt(1, eventId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Donation d = new Donation();
+                    d.setDonationId(rs.getInt("donation_id"));
+                    d.setUserId(rs.getInt("user_id"));
+                    d.setEventId(rs.getInt("event_id"));
+                    d.setAmount(rs.getBigDecimal("amount"));
+                    d.setDonationDate(rs.getTimestamp("donation_date"));
+                    d.setDonorName(rs.getString("donor_name"));
+                    consumer.accept(d);
+                    delivered++;
+                }
+            }
         } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return -1;
+        }
+        return delivered;
+    }
+
+    // 4. Record a New Donation (no idempotency key: a retry records it again)
+    public boolean addDonation(int userId, int eventId, BigDecimal amount) {
+        return !DonationIngestor.ERROR.equals(addDonation(userId, eventId, amount, null));
+    }
+
+    // 4b. IDEMPOTENT INGESTION: Returns "ACCEPTED", "DUPLICATE" (this key was already recorded) or "ERROR".
+    // Group-committed with other donations; on ERROR (including a commit that outlived the wait) the
+    // client retries with the same key and gets ACCEPTED or DUPLICATE, never a second donation.
+    public String addDonation(int userId, int eventId, BigDecimal amount, String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key longer than " + MAX_IDEMPOTENCY_KEY_LENGTH);
+        }
+        DonationIngestor.Request request = new DonationIngestor.Request(userId, eventId, amount, idempotencyKey);
+
+        CompletableFuture<String> outcome = INGESTOR.submit(request);
+        if (outcome == null) {
+            // Ingestor stopped or full: write this one directly
+            String direct;
+            try {
+                direct = insertDonationBatch(List.of(request)).get(0);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                direct = DonationIngestor.ERROR;
+            }
+            INGESTOR.recordDirect(request, direct);
+            return direct;
+        }
+
+        try {
+            return outcome.get(COMMIT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return DonationIngestor.ERROR;
+        } catch (ExecutionException | TimeoutException e) {
+            return DonationIngestor.ERROR;
+        }
+    }
+
+    // 4c. BATCH INSERT: one transaction for the whole batch, outcome per donation in order.
+    // Keys already in Donation (or repeated within the batch) are DUPLICATE; the rest are inserted
+    // and folded into DonationSummary with one upsert per event.
+    private List<String> insertDonationBatch(List<DonationIngestor.Request> batch) throws SQLException {
+        String sql = "INSERT INTO Donation (user_id, event_id, amount, donation_date, idempotency_key) " +
+                     "VALUES (?, ?, ?, ?, ?)";
+
+        List<String> outcomes = new ArrayList<>(batch.size());
+        List<DonationIngestor.Request> inserted = new ArrayList<>(batch.size());
+        int[] donationIds = new int[batch.size()];
+        // Stamped here rather than NOW() so the analytics buckets get the stored value (whole seconds);
+        // same zone as NOW() because the pool pins the session time zone to the JVM's (PoolConfig.timeZone)
+        LocalDateTime donatedAt = LocalDateTime.now().withNano(0);
+        // Ordered by event so concurrent batches lock summary rows in the same order
+        Map<Integer, DonationTotals.Totals> perEvent = new TreeMap<>();
+
+        Connection conn = DBConnection.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection");
+        }
+        // Every event the batch may touch; cached totals are not filled from rows read while it commits
+        Set<Integer> touched = new TreeSet<>();
+        for (DonationIngestor.Request r : batch) {
+            touched.add(r.getEventId());
+        }
+        for (int eventId : touched) {
+            DONATION_TOTALS.beginWrite(eventId);
+        }
+        boolean totalsPending = true;
+        try {
+            conn.setAutoCommit(false);
+
+            Set<String> seen = existingKeys(conn, batch);
+            for (DonationIngestor.Request r : batch) {
+                String key = r.getIdempotencyKey() == null ? null : r.getUserId() + ":" + r.getIdempotencyKey();
+                if (key != null && !seen.add(key)) {
+                    outcomes.add(DonationIngestor.DUPLICATE);
+                } else {
+                    outcomes.add(DonationIngestor.ACCEPTED);
+                    inserted.add(r);
+                }
+            }
+
+            if (!inserted.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (DonationIngestor.Request r : inserted) {
+                        stmt.setInt(1, r.getUserId());
+                        stmt.setInt(2, r.getEventId());
+                        stmt.setBigDecimal(3, r.getAmount());
+                        stmt.setTimestamp(4, Timestamp.valueOf(donatedAt));
+                        stmt.setString(5, r.getIdempotencyKey());
+                        stmt.addBatch();
+                        perEvent.merge(r.getEventId(), DonationTotals.Totals.EMPTY.plus(r.getAmount()),
+                                (a, b) -> a.plus(b));
+                    }
+                    stmt.executeBatch();
+
+                    Arrays.fill(donationIds, -1);
+                    ResultSet keys = stmt.getGeneratedKeys();
+                    for (int i = 0; i < inserted.size() && keys.next(); i++) {
+                        donationIds[i] = keys.getInt(1);
+                    }
+                }
+                for (Map.Entry<Integer, DonationTotals.Totals> e : perEvent.entrySet()) {
+                    DonationTotals.Totals t = e.getValue();
+                    addToSummary(conn, e.getKey(), t.count, t.sum, t.max);
+                }
+            }
+            conn.commit();
+            for (int eventId : touched) {
+                DONATION_TOTALS.endWrite(eventId, perEvent.getOrDefault(eventId, DonationTotals.Totals.EMPTY));
+            }
+            totalsPending = false;
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            if (batch.size() == 1 && isDuplicateKey(e)) {
+                return List.of(DonationIngestor.DUPLICATE); // Same key committed by another instance meanwhile
+            }
+            throw e;
+        } finally {
+            if (totalsPending) {
+                for (int eventId : touched) {
+                    DONATION_TOTALS.endWrite(eventId, DonationTotals.Totals.EMPTY);
+                }
+            }
+            closeQuietly(conn);
+        }
+
+        for (int i = 0; i < inserted.size(); i++) {
+            DonationIngestor.Request r = inserted.get(i);
+            ANALYTICS.add(donationIds[i], r.getUserId(), r.getEventId(), r.getAmount(), donatedAt);
+        }
+        return outcomes;
+    }
+
+    // "userId:key" of the batch's keys that are already in Donation
+    private Set<String> existingKeys(Connection conn, List<DonationIngestor.Request> batch) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        List<DonationIngestor.Request> keyed = new ArrayList<>();
+        for (DonationIngestor.Request r : batch) {
+            if (r.getIdempotencyKey() != null) {
+                keyed.add(r);
+            }
+        }
+        if (keyed.isEmpty()) {
+            return existing;
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT user_id, idempotency_key FROM Donation WHERE (user_id, idempotency_key) IN (");
+        for (int i = 0; i < keyed.size(); i++) {
+            sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+        }
+        sql.append(")");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            for (DonationIngestor.Request r : keyed) {
+                stmt.setInt(i++, r.getUserId());
+                stmt.setString(i++, r.getIdempotencyKey());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getInt("user_id") + ":" + rs.getString("idempotency_key"));
+                }
+            }
+        }
+        return existing;
+    }
+
+    // MySQL ER_DUP_ENTRY, or the standard unique-violation state
+    private static boolean isDuplicateKey(SQLException e) {
+        return e.getErrorCode() == 1062 || "23505".equals(e.getSQLState());
+    }
+
+    // Fold count donations totalling sum (largest max) into the event's summary row; the row lock
+    // serializes concurrent donations to one event, other events are unaffected
+    private static void addToSummary(Connection conn, int eventId, long count, BigDecimal sum, BigDecimal max)
+            throws SQLException {
+        String sql = "INSERT INTO DonationSummary (event_id, donation_count, total_amount, max_amount) " +
+                     "VALUES (?, ?, ?, ?) " +
+                     "ON DUPLICATE KEY UPDATE " +
+                     "donation_count = donation_count + VALUES(donation_count), " +
+                     "total_amount = total_amount + VALUES(total_amount), " +
+                     "max_amount = GREATEST(max_amount, VALUES(max_amount))";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, eventId);
+            stmt.setLong(2, count);
+            stmt.setBigDecimal(3, sum);
+            stmt.setBigDecimal(4, max);
+            stmt.executeUpdate();
         }
     }
 
@@ -142,6 +455,191 @@ public class DonationDAO {
         return donations;
     }
 
+    // 6. RECONCILIATION JOB: Recompute DonationSummary from Donation; returns how many events were wrong
+    public int reconcileDonationSummaries() {
+        String sqlFix = "UPDATE DonationSummary s " +
+                        "LEFT JOIN (SELECT event_id, COUNT(*) AS n, SUM(amount) AS total, MAX(amount) AS highest " +
+                        "           FROM Donation GROUP BY event_id) d " +
+                        "ON d.event_id = s.event_id " +
+                        "SET s.donation_count = COALESCE(d.n, 0), " +
+                        "    s.total_amount = COALESCE(d.total, 0), " +
+                        "    s.max_amount = COALESCE(d.highest, 0) " +
+                        "WHERE s.donation_count <> COALESCE(d.n, 0) " +
+                        "   OR s.total_amount <> COALESCE(d.total, 0) " +
+                        "   OR s.max_amount <> COALESCE(d.highest, 0)";
+        String sqlMissing = "INSERT INTO DonationSummary (event_id, donation_count, total_amount, max_amount) " +
+                            "SELECT d.event_id, COUNT(*), SUM(d.amount), MAX(d.amount) FROM Donation d " +
+                            "WHERE NOT EXISTS (SELECT 1 FROM DonationSummary s WHERE s.event_id = d.event_id) " +
+                            "GROUP BY d.event_id";
+
+        Connection conn = null;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            int repaired;
+            try (Statement stmt = conn.createStatement()) {
+                repaired = stmt.executeUpdate(sqlFix);
+                repaired += stmt.executeUpdate(sqlMissing);
+            }
+
+            conn.commit();
+            DONATION_TOTALS.clear(); // Reload from the corrected rows on next read
+            if (repaired > 0) {
+                System.err.println("⚠️ Reconciled donation totals on " + repaired + " event(s).");
+            }
+            return repaired;
+
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            e.printStackTrace();
+            return -1;
+        } finally {
+            closeQuietly(conn);
+        }
+    }
+
+    // 7. LEADERBOARD: Biggest donors of an event by total given (eventId 0 = whole campaign)
+    // From the in-memory top list plus one name lookup; SQL aggregate while the analytics are loading
+    // or when asking for more than the kept topK.
+    public List<DonorRank> getTopDonors(int eventId, int limit) {
+        List<DonationAnalytics.DonorTotal> top = limit <= ANALYTICS.getTopK() ? ANALYTICS.topDonors(eventId, limit) : null;
+        if (top == null) {
+            return queryTopDonors(eventId, limit);
+        }
+
+        List<DonorRank> ranks = new ArrayList<>(top.size());
+        for (DonationAnalytics.DonorTotal t : top) {
+            DonorRank r = new DonorRank();
+            r.userId = t.getUserId();
+            r.donationCount = t.getCount();
+            r.totalAmount = t.getTotal();
+            ranks.add(r);
+        }
+        fillDonorNames(ranks);
+        return ranks;
+    }
+
+    private List<DonorRank> queryTopDonors(int eventId, int limit) {
+        List<DonorRank> ranks = new ArrayList<>();
+        String sql = "SELECT d.user_id, u.user_name, COUNT(*) AS donation_count, SUM(d.amount) AS total_amount " +
+                     "FROM Donation d " +
+                     "JOIN User u ON d.user_id = u.user_id " +
+                     (eventId == DonationAnalytics.ALL_EVENTS ? "" : "WHERE d.event_id = ? ") +
+                     "GROUP BY d.user_id, u.user_name " +
+                     "ORDER BY total_amount DESC, d.user_id " +
+                     "LIMIT ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            if (eventId != DonationAnalytics.ALL_EVENTS) {
+                stmt.setInt(i++, eventId);
+            }
+            stmt.setInt(i, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                DonorRank r = new DonorRank();
+                r.userId = rs.getInt("user_id");
+                r.donorName = rs.getString("user_name");
+                r.donationCount = rs.getLong("donation_count");
+                r.totalAmount = rs.getBigDecimal("total_amount");
+                ranks.add(r);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return ranks;
+    }
+
+    // One lookup for all donors on the board
+    private void fillDonorNames(List<DonorRank> ranks) {
+        if (ranks.isEmpty()) {
+            return;
+        }
+        String sql = "SELECT user_id, user_name FROM User WHERE user_id IN (" + SqlUtil.placeholders(ranks.size()) + ")";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < ranks.size(); i++) {
+                stmt.setInt(i + 1, ranks.get(i).userId);
+            }
+            Map<Integer, String> names = new HashMap<>();
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                names.put(rs.getInt("user_id"), rs.getString("user_name"));
+            }
+            for (DonorRank r : ranks) {
+                r.donorName = names.get(r.userId);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // 8. TIME SERIES: Donation count and sum per minute/hour/day starting in [from, to), oldest first
+    // (eventId 0 = whole campaign). Empty buckets are omitted; empty list until the analytics are loaded.
+    public List<DonationAnalytics.Bucket> getDonationSeries(int eventId, DonationAnalytics.Granularity granularity,
+                                                           LocalDateTime from, LocalDateTime to) {
+        List<DonationAnalytics.Bucket> series = ANALYTICS.series(eventId, granularity, from, to);
+        return series != null ? series : new ArrayList<>();
+    }
+
+    // 9. BACKFILL: Load the analytics from every donation (startup); commits during the scan are not lost
+    public void rebuildDonationAnalytics() {
+        String sql = "SELECT donation_id, user_id, event_id, amount, donation_date FROM Donation";
+
+        DonationAnalytics.Loader loader = ANALYTICS.beginLoad();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(1_000);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp at = rs.getTimestamp("donation_date");
+                    loader.add(rs.getInt("donation_id"), rs.getInt("user_id"), rs.getInt("event_id"),
+                            rs.getBigDecimal("amount"), at == null ? null : at.toLocalDateTime());
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            ANALYTICS.abortLoad(); // Leaderboard stays on SQL
+            return;
+        }
+        ANALYTICS.finishLoad(loader);
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Inner class for one leaderboard row
+    public static class DonorRank {
+        public int userId;
+        public String donorName;
+        public long donationCount;
+        public BigDecimal totalAmount = BigDecimal.ZERO;
+    }
+
     // Inner class for statistics
     public static class DonationStats {
         public int donorCount;
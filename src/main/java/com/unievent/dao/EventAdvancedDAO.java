@@ -1,10 +1,25 @@
 package com.unievent.dao;
 
+import com.unievent.cache.DashboardCounters;
 import com.unievent.config.DBConnection;
+import com.unievent.model.Category;
 import com.unievent.model.Event;
+import com.unievent.model.Venue;
+import com.unievent.search.EventSearchBackend;
+import com.unievent.search.InMemoryEventIndex;
+import com.unievent.search.SearchableEvent;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Advanced Event DAO with Dynamic Search and Complex Joins
@@ -12,67 +27,304 @@ import java.util.List;
  */
 public class EventAdvancedDAO {
 
+    // Venue and category names come from the in-memory reference cache instead of a JOIN
+    private final ResourceDAO resourceDAO = new ResourceDAO();
+
+    // Rows pulled per round trip when streaming search results
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Above this many keyword hits, the id list is too long for an IN (...) and we fall back to LIKE
+    private static final int MAX_INDEX_CANDIDATES = 2_000;
+    // Ids per IN (...) list in the multi-get methods
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+
+    // Keyword search backend (in-process inverted index by default); swappable for another engine
+    private static volatile EventSearchBackend searchBackend = new InMemoryEventIndex();
+
+    public static EventSearchBackend getSearchBackend() {
+        return searchBackend;
+    }
+
+    public static void setSearchBackend(EventSearchBackend backend) {
+        searchBackend = backend;
+    }
+
     // 1. ADVANCED SEARCH: Filter by Category, Venue, Keyword (Dynamic SQL)
+    // Keyword semantics: once the search index is built, every word of the keyword must match the
+    // start of a word in the title or description ("conf" finds "conference", "ference" does not),
+    // and words the index cannot answer ("C", "C++", "node.js") must appear as substrings (LIKE).
+    // Before the index is ready, or when the index matches too many events, the whole keyword is
+    // matched as one substring with LIKE, as it always was.
     public List<Event> searchEvents(Integer categoryId, Integer venueId, String keyword) {
         List<Event> events = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = buildSearchQuery(categoryId, venueId, keyword, params);
         
-        // Base Query with Joins to get names, not just IDs
+        sql.append(" ORDER BY e.start DESC");
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            bindParams(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                events.add(mapSearchRow(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return events;
+    }
+
+    // 1b. PAGINATED SEARCH: Keyset (seek) pagination on (start, event_id), newest first
+    // Pass cursor = null for the first page, then the previous page's nextCursor.
+    public EventPage searchEventsPage(Integer categoryId, Integer venueId, String keyword,
+                                      String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        EventPage page = new EventPage();
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = buildSearchQuery(categoryId, venueId, keyword, params);
+
+        if (cursor != null && !cursor.isEmpty()) {
+            SearchCursor after = SearchCursor.decode(cursor);
+            // Row-value comparison spelled out so MySQL can seek on an index over (start, event_id)
+            sql.append(" AND (e.start < ? OR (e.start = ? AND e.event_id < ?))");
+            params.add(after.start);
+            params.add(after.start);
+            params.add(after.eventId);
+        }
+
+        sql.append(" ORDER BY e.start DESC, e.event_id DESC");
+        sql.append(" LIMIT ?");
+        params.add(limit + 1); // One extra row tells us whether there is a next page
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            bindParams(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                if (page.events.size() == limit) {
+                    Event last = page.events.get(limit - 1);
+                    page.nextCursor = new SearchCursor(last.getStart(), last.getEventId()).encode();
+                    break;
+                }
+                page.events.add(mapSearchRow(rs));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return page;
+    }
+
+    // 1c. STREAMING SEARCH: Pushes rows to the consumer as they arrive instead of building a List
+    // Returns the number of events delivered.
+    public int streamEvents(Integer categoryId, Integer venueId, String keyword, Consumer<Event> consumer) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = buildSearchQuery(categoryId, venueId, keyword, params);
+        sql.append(" ORDER BY e.start DESC, e.event_id DESC");
+
+        int delivered = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // With useCursorFetch the driver reads STREAM_FETCH_SIZE rows at a time
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            bindParams(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(mapSearchRow(rs));
+                    delivered++;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return delivered;
+    }
+
+    // Base query + dynamic filters shared by all search variants
+    private StringBuilder buildSearchQuery(Integer categoryId, Integer venueId, String keyword, List<Object> params) {
+        // Base Query joins only User; venue/category names come from the reference cache
+        // and attendee_count is the denormalized counter column (no Attends aggregate)
         StringBuilder sql = new StringBuilder(
-            "SELECT e.*, v.venue_name, c.cat_name, u.user_name as organizer_name, " +
-            "COUNT(a.user_id) as attendee_count " +
+            "SELECT e.*, u.user_name as organizer_name " +
             "FROM Event e " +
-            "JOIN Venue v ON e.venue_id = v.venue_id " +
-            "JOIN Category c ON e.cat_id = c.cat_id " +
             "JOIN User u ON e.user_id = u.user_id " +
-            "LEFT JOIN Attends a ON e.event_id = a.event_id AND a.rsvp_status = 'GOING' " +
             "WHERE e.status = 'APPROVED'"
         );
 
         // Dynamic Query Building (Security: Using PreparedStatement, not concatenation)
         if (categoryId != null && categoryId > 0) {
             sql.append(" AND e.cat_id = ?");
+            params.add(categoryId);
         }
         if (venueId != null && venueId > 0) {
             sql.append(" AND e.venue_id = ?");
+            params.add(venueId);
         }
         if (keyword != null && !keyword.trim().isEmpty()) {
+            List<Integer> hits = indexCandidates(categoryId, venueId, keyword);
+            if (hits == null) {
+                // No usable index answer: full scan with LIKE
+                sql.append(" AND (e.title LIKE ? OR e.description LIKE ?)");
+                String searchPattern = "%" + keyword + "%";
+                params.add(searchPattern);
+                params.add(searchPattern);
+            } else if (hits.isEmpty()) {
+                sql.append(" AND 1 = 0");
+            } else {
+                // Primary-key lookups instead of scanning every title/description
+                sql.append(" AND e.event_id IN (").append(SqlUtil.placeholders(hits.size())).append(")");
+                params.addAll(hits);
+                appendUnindexedTerms(sql, params, searchBackend.unindexedTerms(keyword));
+            }
+        }
+        return sql;
+    }
+
+    // Words the index skipped still have to match, as substrings, on the rows it narrowed down to
+    private void appendUnindexedTerms(StringBuilder sql, List<Object> params, List<String> terms) {
+        for (String term : terms) {
             sql.append(" AND (e.title LIKE ? OR e.description LIKE ?)");
+            String searchPattern = "%" + term + "%";
+            params.add(searchPattern);
+            params.add(searchPattern);
         }
-        
-        sql.append(" GROUP BY e.event_id, v.venue_name, c.cat_name, u.user_name");
-        sql.append(" ORDER BY e.start DESC");
+    }
+
+    // Event ids matching the keyword according to the search backend, or null to use SQL LIKE
+    // (index not built, no indexable term in the keyword, or too many hits)
+    private List<Integer> indexCandidates(Integer categoryId, Integer venueId, String keyword) {
+        EventSearchBackend backend = searchBackend;
+        if (!backend.isReady() || !backend.canSearch(keyword)) {
+            return null;
+        }
+        List<Integer> hits = backend.search(keyword, categoryId, venueId, MAX_INDEX_CANDIDATES + 1);
+        return hits.size() > MAX_INDEX_CANDIDATES ? null : hits;
+    }
+
+    private void bindParams(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
 
+    private Event mapSearchRow(ResultSet rs) throws SQLException {
+        Event e = new Event();
+        e.setEventId(rs.getInt("event_id"));
+        e.setTitle(rs.getString("title"));
+        e.setDescription(rs.getString("description"));
+        e.setStart(rs.getObject("start", LocalDateTime.class));
+        e.setEnd(rs.getObject("end", LocalDateTime.class));
+        e.setMaxAttendees(rs.getInt("max_attendees"));
+        e.setStatus(rs.getString("status"));
+        e.setVenueId(rs.getInt("venue_id"));
+        e.setCatId(rs.getInt("cat_id"));
+        e.setOrganizerName(rs.getString("organizer_name"));
+        e.setAttendeeCount(rs.getInt("attendee_count"));
+        resolveReferenceNames(e);
+        return e;
+    }
+
+    // 1d. RANKED SEARCH: Best keyword matches first (relevance order from the search backend)
+    public List<Event> searchEventsRanked(Integer categoryId, Integer venueId, String keyword, int limit) {
+        EventSearchBackend backend = searchBackend;
+        if (keyword == null || keyword.trim().isEmpty() || !backend.isReady() || !backend.canSearch(keyword)) {
+            // Nothing to rank by (no index yet, or no indexable term): newest first, like searchEvents
+            List<Event> events = searchEvents(categoryId, venueId, keyword);
+            return events.size() > limit ? new ArrayList<>(events.subList(0, limit)) : events;
+        }
+
+        // Words the index cannot answer filter in SQL, so rank more candidates than will be kept
+        List<String> unindexed = backend.unindexedTerms(keyword);
+        int candidates = unindexed.isEmpty() ? Math.min(limit, MAX_INDEX_CANDIDATES) : MAX_INDEX_CANDIDATES;
+        List<Integer> rankedIds = backend.search(keyword, categoryId, venueId, candidates);
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = buildSearchQuery(null, null, null, params);
+        sql.append(" AND e.event_id IN (").append(SqlUtil.placeholders(rankedIds.size())).append(")");
+        params.addAll(rankedIds);
+        appendUnindexedTerms(sql, params, unindexed);
+
+        Map<Integer, Event> byId = new HashMap<>();
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
 
-            int paramIndex = 1;
-            if (categoryId != null && categoryId > 0) {
-                stmt.setInt(paramIndex++, categoryId);
+            bindParams(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                Event e = mapSearchRow(rs);
+                byId.put(e.getEventId(), e);
             }
-            if (venueId != null && venueId > 0) {
-                stmt.setInt(paramIndex++, venueId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        List<Event> events = new ArrayList<>(Math.min(limit, byId.size()));
+        for (Integer id : rankedIds) {
+            Event e = byId.get(id);
+            if (e != null && events.size() < limit) {
+                events.add(e);
             }
-            if (keyword != null && !keyword.trim().isEmpty()) {
-                String searchPattern = "%" + keyword + "%";
-                stmt.setString(paramIndex++, searchPattern);
-                stmt.setString(paramIndex++, searchPattern);
+        }
+        return events;
+    }
+
+    // 1e. (Re)build the keyword index from every PENDING/APPROVED event (startup + periodic resync)
+    public void rebuildSearchIndex() {
+        List<SearchableEvent> rows = new ArrayList<>();
+        String sql = "SELECT event_id, title, description, cat_id, venue_id, status FROM Event " +
+                     "WHERE status IN ('PENDING', 'APPROVED')";
+
+        EventSearchBackend backend = searchBackend;
+        backend.beginRebuild(); // Before the scan: createEvent/approvals meanwhile are replayed onto the result
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(new SearchableEvent(
+                            rs.getInt("event_id"),
+                            rs.getString("title"),
+                            rs.getString("description"),
+                            rs.getInt("cat_id"),
+                            rs.getInt("venue_id"),
+                            rs.getString("status")));
+                }
             }
+        } catch (SQLException | RuntimeException e) { // RuntimeException: no connection available
+            e.printStackTrace();
+            backend.abortRebuild();
+            return; // Keep the old index rather than replacing it with a partial one
+        }
+        backend.rebuild(rows);
+    }
 
+    // 1f. DATE RANGE: Approved events starting in [from, to), earliest first, optionally by venue/category
+    // Range scan on idx_event_status_start (status, start, event_id); venue/category filter the scanned rows.
+    public List<Event> getEventsBetween(LocalDateTime from, LocalDateTime to, Integer venueId, Integer categoryId) {
+        List<Event> events = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = buildSearchQuery(categoryId, venueId, null, params);
+        sql.append(" AND e.start >= ? AND e.start < ?");
+        params.add(from);
+        params.add(to);
+        sql.append(" ORDER BY e.start, e.event_id");
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            bindParams(stmt, params);
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
-                Event e = new Event();
-                e.setEventId(rs.getInt("event_id"));
-                e.setTitle(rs.getString("title"));
-                e.setDescription(rs.getString("description"));
-                e.setStart(rs.getString("start"));
-                e.setEnd(rs.getString("end"));
-                e.setMaxAttendees(rs.getInt("max_attendees"));
-                e.setStatus(rs.getString("status"));
-                e.setVenueName(rs.getString("venue_name"));
-                e.setCategoryName(rs.getString("cat_name"));
-                e.setOrganizerName(rs.getString("organizer_name"));
-                e.setAttendeeCount(rs.getInt("attendee_count"));
-                events.add(e);
+                events.add(mapSearchRow(rs));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -82,16 +334,10 @@ public class EventAdvancedDAO {
 
     // 2. Get Event Details with All Related Information
     public Event getEventDetails(int eventId) {
-        String sql = "SELECT e.*, v.venue_name, v.location, v.capacity, " +
-                     "c.cat_name, u.user_name as organizer_name, u.email as organizer_email, " +
-                     "COUNT(a.user_id) as attendee_count " +
+        String sql = "SELECT e.*, u.user_name as organizer_name, u.email as organizer_email " +
                      "FROM Event e " +
-                     "JOIN Venue v ON e.venue_id = v.venue_id " +
-                     "JOIN Category c ON e.cat_id = c.cat_id " +
                      "JOIN User u ON e.user_id = u.user_id " +
-                     "LEFT JOIN Attends a ON e.event_id = a.event_id AND a.rsvp_status = 'GOING' " +
-                     "WHERE e.event_id = ? " +
-                     "GROUP BY e.event_id";
+                     "WHERE e.event_id = ?";
 
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -100,19 +346,7 @@ public class EventAdvancedDAO {
             ResultSet rs = stmt.executeQuery();
             
             if (rs.next()) {
-                Event e = new Event();
-                e.setEventId(rs.getInt("event_id"));
-                e.setTitle(rs.getString("title"));
-                e.setDescription(rs.getString("description"));
-                e.setStart(rs.getString("start"));
-                e.setEnd(rs.getString("end"));
-                e.setMaxAttendees(rs.getInt("max_attendees"));
-                e.setStatus(rs.getString("status"));
-                e.setVenueName(rs.getString("venue_name"));
-                e.setCategoryName(rs.getString("cat_name"));
-                e.setOrganizerName(rs.getString("organizer_name"));
-                e.setAttendeeCount(rs.getInt("attendee_count"));
-                return e;
+                return mapDetailRow(rs);
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -120,17 +354,71 @@ public class EventAdvancedDAO {
         return null;
     }
 
+    // 2b. MULTI-GET: Details of many events on one connection, IN (...) in chunks of MULTI_GET_CHUNK_SIZE.
+    // Returns eventId -> Event in input order; ids that do not exist are left out.
+    public Map<Integer, Event> getEventDetails(Collection<Integer> eventIds) {
+        Map<Integer, Event> found = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(eventIds));
+        if (ids.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MULTI_GET_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, ids.size()));
+                String sql = "SELECT e.*, u.user_name as organizer_name, u.email as organizer_email " +
+                             "FROM Event e " +
+                             "JOIN User u ON e.user_id = u.user_id " +
+                             "WHERE e.event_id IN (" + SqlUtil.placeholders(chunk.size()) + ")";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        Event e = mapDetailRow(rs);
+                        found.put(e.getEventId(), e);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        Map<Integer, Event> events = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            Event e = found.get(id);
+            if (e != null) {
+                events.put(id, e);
+            }
+        }
+        return events;
+    }
+
+    private Event mapDetailRow(ResultSet rs) throws SQLException {
+        Event e = new Event();
+        e.setEventId(rs.getInt("event_id"));
+        e.setTitle(rs.getString("title"));
+        e.setDescription(rs.getString("description"));
+        e.setStart(rs.getObject("start", LocalDateTime.class));
+        e.setEnd(rs.getObject("end", LocalDateTime.class));
+        e.setMaxAttendees(rs.getInt("max_attendees"));
+        e.setStatus(rs.getString("status"));
+        e.setUserId(rs.getInt("user_id"));
+        e.setVenueId(rs.getInt("venue_id"));
+        e.setCatId(rs.getInt("cat_id"));
+        e.setOrganizerName(rs.getString("organizer_name"));
+        e.setAttendeeCount(rs.getInt("attendee_count"));
+        resolveReferenceNames(e);
+        return e;
+    }
+
     // 3. Get User's Created Events
     public List<Event> getEventsByOrganizer(int userId) {
         List<Event> events = new ArrayList<>();
-        String sql = "SELECT e.*, v.venue_name, c.cat_name, " +
-                     "COUNT(a.user_id) as attendee_count " +
-                     "FROM Event e " +
-                     "JOIN Venue v ON e.venue_id = v.venue_id " +
-                     "JOIN Category c ON e.cat_id = c.cat_id " +
-                     "LEFT JOIN Attends a ON e.event_id = a.event_id AND a.rsvp_status = 'GOING' " +
+        String sql = "SELECT e.* FROM Event e " +
                      "WHERE e.user_id = ? " +
-                     "GROUP BY e.event_id " +
                      "ORDER BY e.start DESC";
 
         try (Connection conn = DBConnection.getConnection();
@@ -144,12 +432,13 @@ public class EventAdvancedDAO {
                 e.setEventId(rs.getInt("event_id"));
                 e.setTitle(rs.getString("title"));
                 e.setDescription(rs.getString("description"));
-                e.setStart(rs.getString("start"));
-                e.setEnd(rs.getString("end"));
+                e.setStart(rs.getObject("start", LocalDateTime.class));
+                e.setEnd(rs.getObject("end", LocalDateTime.class));
                 e.setStatus(rs.getString("status"));
-                e.setVenueName(rs.getString("venue_name"));
-                e.setCategoryName(rs.getString("cat_name"));
+                e.setVenueId(rs.getInt("venue_id"));
+                e.setCatId(rs.getInt("cat_id"));
                 e.setAttendeeCount(rs.getInt("attendee_count"));
+                resolveReferenceNames(e);
                 events.add(e);
             }
         } catch (SQLException e) {
@@ -171,20 +460,77 @@ public class EventAdvancedDAO {
             stmt.setInt(3, event.getCatId());
             stmt.setString(4, event.getTitle());
             stmt.setString(5, event.getDescription());
-            stmt.setString(6, event.getStart());
-            stmt.setString(7, event.getEnd());
+            stmt.setObject(6, event.getStart());
+            stmt.setObject(7, event.getEnd());
             stmt.setInt(8, event.getMaxAttendees());
             stmt.setString(9, "PENDING"); // New events require admin approval
             
-            stmt.executeUpdate();
+            DashboardCounters counters = AdminDAO.getDashboardCounters();
+            counters.beginUpdate(); // Auto-commit: the INSERT is the commit
+            try {
+                stmt.executeUpdate();
+                counters.onEventCreated();
+            } finally {
+                counters.endUpdate();
+            }
             
             ResultSet rs = stmt.getGeneratedKeys();
             if (rs.next()) {
-                return rs.getInt(1);
+                int eventId = rs.getInt(1);
+                // Indexed now, searchable once an admin approves it
+                searchBackend.upsert(new SearchableEvent(eventId, event.getTitle(), event.getDescription(),
+                        event.getCatId(), event.getVenueId(), "PENDING"));
+                // Pending requests hold their slot too
+                ResourceDAO.getVenueSchedule().add(eventId, event.getVenueId(), event.getStart(), event.getEnd());
+                return eventId;
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return -1;
     }
+
+    // Fill venue/category display names from the cached id maps (replaces the Venue and Category joins)
+    private void resolveReferenceNames(Event e) {
+        Venue v = resourceDAO.getVenueById(e.getVenueId());
+        if (v != null) {
+            e.setVenueName(v.getVenueName());
+        }
+        Category c = resourceDAO.getCategoryById(e.getCatId());
+        if (c != null) {
+            e.setCategoryName(c.getCatName());
+        }
+    }
+
+    // Inner class for one page of search results
+    public static class EventPage {
+        public List<Event> events = new ArrayList<>();
+        public String nextCursor; // null when this is the last page
+    }
+
+    // Opaque keyset position: Base64 of "start|event_id" of the last row on a page
+    private static class SearchCursor {
+        final LocalDateTime start;
+        final int eventId;
+
+        SearchCursor(LocalDateTime start, int eventId) {
+            this.start = start;
+            this.eventId = eventId;
+        }
+
+        String encode() {
+            String raw = start + "|" + eventId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static SearchCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new SearchCursor(LocalDateTime.parse(raw.substring(0, sep)), Integer.parseInt(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid search cursor", e);
+            }
+        }
+    }
 }
@@ -1,11 +1,25 @@
 package com.unievent.dao;
 
+import com.unievent.cache.AttendeeCounts;
+import com.unievent.cache.RecentComments;
 import com.unievent.config.DBConnection;
 import com.unievent.model.Comment;
 import com.unievent.model.Attends;
+import com.unievent.service.CommentWriter;
+import com.unievent.service.LiveUpdateBus;
+import com.unievent.service.WaitlistEngine;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Advanced Interaction DAO for Comments and RSVPs
@@ -13,6 +27,60 @@ import java.util.List;
  */
 public class InteractionDAO {
 
+    // GOING counts per event, mirrored in memory (source of truth: Event.attendee_count)
+    private static final AttendeeCounts ATTENDEE_COUNTS = new AttendeeCounts();
+
+    // FIFO waitlist: promotes WAITLISTED rows to GOING when seats are released
+    private static final WaitlistEngine WAITLIST =
+            new WaitlistEngine((eventId, maxSeats) -> new InteractionDAO().promoteFromWaitlist(eventId, maxSeats));
+
+    public static WaitlistEngine getWaitlistEngine() {
+        return WAITLIST;
+    }
+
+    // Write-behind comments: addComment() queues, one thread inserts in JDBC batches
+    private static final CommentWriter COMMENT_WRITER = new CommentWriter(
+            batch -> new InteractionDAO().insertCommentBatch(batch),
+            Integer.getInteger("unievent.comments.queueCapacity", 10_000),
+            Integer.getInteger("unievent.comments.batchSize", 200),
+            Long.getLong("unievent.comments.flushMillis", 250L),
+            Long.getLong("unievent.comments.offerTimeoutMillis", 50L),
+            Paths.get(System.getProperty("unievent.comments.spoolFile",
+                    Paths.get(System.getProperty("java.io.tmpdir"), "unievent-comment-spool.tsv").toString())));
+
+    public static CommentWriter getCommentWriter() {
+        return COMMENT_WRITER;
+    }
+
+    // Newest comments of recently viewed events (first pages of the feed come from here)
+    private static final RecentComments RECENT_COMMENTS = new RecentComments(
+            Integer.getInteger("unievent.comments.cachedPerEvent", 50),
+            Integer.getInteger("unievent.comments.cachedEvents", 1_000));
+
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+
+    // Rows pulled per round trip when streaming exports
+    private static final int STREAM_FETCH_SIZE = 1_000;
+    // Ids per IN (...) list in the multi-get methods
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+    // Waitlisted users promoted inside an RSVP transaction; the WaitlistEngine worker does any beyond this
+    private static final int MAX_INLINE_PROMOTIONS = 100;
+
+    public static RecentComments getRecentComments() {
+        return RECENT_COMMENTS;
+    }
+
+    // Live comment / attendee-count updates for EventStreamServlet subscribers
+    private static final LiveUpdateBus LIVE_UPDATES = new LiveUpdateBus(
+            Integer.getInteger("unievent.live.maxSubscribers", 20_000),
+            Integer.getInteger("unievent.live.bufferFrames", 64),
+            Integer.getInteger("unievent.live.dispatchThreads", 2), // single-threaded lanes, events hashed across them
+            Integer.getInteger("unievent.live.dispatchQueue", 10_000));
+
+    public static LiveUpdateBus getLiveUpdates() {
+        return LIVE_UPDATES;
+    }
+
     // 1. THREAD-SAFE: Fetch Comments with User Names (JOIN Query)
     public List<Comment> getCommentsForEvent(int eventId) {
         List<Comment> comments = new ArrayList<>();
@@ -32,6 +100,7 @@ public class InteractionDAO {
             while (rs.next()) {
                 Comment c = new Comment();
                 c.setCommentId(rs.getInt("comment_id"));
+                c.setEventId(eventId);
                 c.setContent(rs.getString("content"));
                 c.setTimestamp(rs.getTimestamp("posted_at"));
                 c.setUserId(rs.getInt("user_id"));
@@ -44,44 +113,671 @@ public class InteractionDAO {
         return comments;
     }
 
-    // 2. Add Comment
-    public boolean addComment(int userId, int eventId, String content) {
-        String sql = "INSERT INTO Comment (user_id, event_id, content, posted_at) " +
-                     "VALUES (?, ?, ?, NOW())";
-        
+    // 1b. Read-your-writes: same as above, plus the viewer's comments still waiting in the write-behind queue.
+    // Queued comments have comment_id 0 and no author name yet.
+    public List<Comment> getCommentsForEvent(int eventId, int viewerUserId) {
+        // Snapshot the queue BEFORE reading the table, so a flush in between shows up in one or the other
+        List<Comment> queued = COMMENT_WRITER.pendingFor(eventId, viewerUserId);
+        List<Comment> comments = getCommentsForEvent(eventId);
+        if (queued.isEmpty()) {
+            return comments;
+        }
+
+        List<Comment> merged = new ArrayList<>(queued.size() + comments.size());
+        for (Comment q : queued) {
+            if (!containsFlushed(comments, q)) {
+                merged.add(q);
+            }
+        }
+        merged.addAll(comments); // queued ones are newer than anything already stored
+        return merged;
+    }
+
+    // A queued comment flushed between the snapshot and the SELECT is already in the result
+    private boolean containsFlushed(List<Comment> stored, Comment queued) {
+        long queuedSecond = queued.getTimestamp().getTime() / 1000; // posted_at may be second-precision
+        for (Comment c : stored) {
+            if (c.getUserId() == queued.getUserId()
+                    && c.getTimestamp() != null
+                    && c.getTimestamp().getTime() / 1000 == queuedSecond
+                    && c.getContent() != null && c.getContent().equals(queued.getContent())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 1c. PAGINATED FEED: Keyset pagination on (posted_at, comment_id), newest first
+    // Pass cursor = null for the first page, then the previous page's nextCursor.
+    // Pages that fall inside the cached newest comments are served from memory.
+    public CommentPage getCommentsPage(int eventId, String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_COMMENT_PAGE_SIZE));
+        CommentCursor after = (cursor == null || cursor.isEmpty()) ? null : CommentCursor.decode(cursor);
+        Long beforeMillis = after == null ? null : after.postedAtMillis;
+        int beforeId = after == null ? 0 : after.commentId;
+
+        List<Comment> rows = RECENT_COMMENTS.page(eventId, beforeMillis, beforeId, limit);
+        if (rows == null && after == null && limit < RECENT_COMMENTS.getPerEvent()) {
+            loadRecentComments(eventId);
+            rows = RECENT_COMMENTS.page(eventId, null, 0, limit);
+        }
+        if (rows == null) {
+            rows = queryCommentsPage(eventId, after, limit);
+        }
+
+        CommentPage page = new CommentPage();
+        page.comments.addAll(rows.subList(0, Math.min(limit, rows.size())));
+        if (rows.size() > limit) {
+            Comment last = page.comments.get(limit - 1);
+            page.nextCursor = new CommentCursor(last.getTimestamp().getTime(), last.getCommentId()).encode();
+        }
+        return page;
+    }
+
+    // Same, with the viewer's still-queued comments on top of the first page
+    public CommentPage getCommentsPage(int eventId, String cursor, int pageSize, int viewerUserId) {
+        boolean firstPage = cursor == null || cursor.isEmpty();
+        List<Comment> queued = firstPage ? COMMENT_WRITER.pendingFor(eventId, viewerUserId) : List.of();
+        CommentPage page = getCommentsPage(eventId, cursor, pageSize);
+        for (int i = queued.size() - 1; i >= 0; i--) {
+            if (!containsFlushed(page.comments, queued.get(i))) {
+                page.comments.add(0, queued.get(i));
+            }
+        }
+        return page;
+    }
+
+    private void loadRecentComments(int eventId) {
+        long stamp = RECENT_COMMENTS.loadStamp(eventId);
+        List<Comment> rows = queryCommentsPage(eventId, null, RECENT_COMMENTS.getPerEvent());
+        RECENT_COMMENTS.load(eventId, stamp, rows);
+    }
+
+    // Up to limit + 1 rows older than the cursor (the extra row means there is a next page)
+    private List<Comment> queryCommentsPage(int eventId, CommentCursor after, int limit) {
+        List<Comment> comments = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(
+                "SELECT c.comment_id, c.content, c.posted_at, u.user_name, u.user_id " +
+                "FROM Comment c " +
+                "JOIN User u ON c.user_id = u.user_id " +
+                "WHERE c.event_id = ?");
+        if (after != null) {
+            // Spelled out so MySQL seeks on idx_comment_event_posted (event_id, posted_at, comment_id)
+            sql.append(" AND (c.posted_at < ? OR (c.posted_at = ? AND c.comment_id < ?))");
+        }
+        sql.append(" ORDER BY c.posted_at DESC, c.comment_id DESC LIMIT ?");
+
         try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            stmt.setInt(2, eventId);
-            stmt.setString(3, content);
-            
-            return stmt.executeUpdate() > 0;
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int i = 1;
+            stmt.setInt(i++, eventId);
+            if (after != null) {
+                Timestamp at = new Timestamp(after.postedAtMillis);
+                stmt.setTimestamp(i++, at);
+                stmt.setTimestamp(i++, at);
+                stmt.setInt(i++, after.commentId);
+            }
+            stmt.setInt(i, limit + 1);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                Comment c = new Comment();
+                c.setCommentId(rs.getInt("comment_id"));
+                c.setEventId(eventId);
+                c.setContent(rs.getString("content"));
+                c.setTimestamp(rs.getTimestamp("posted_at"));
+                c.setUserId(rs.getInt("user_id"));
+                c.setAuthorName(rs.getString("user_name"));
+                comments.add(c);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return comments;
+    }
+
+    // 1d. MULTI-GET: Committed comment count per event (0 for none), one GROUP BY per chunk of ids
+    // on idx_comment_event_posted. Comments still in the write-behind queue are not counted yet.
+    public Map<Integer, Integer> getCommentCounts(Collection<Integer> eventIds) {
+        Map<Integer, Integer> counts = new LinkedHashMap<>();
+        for (Integer id : eventIds) {
+            counts.put(id, 0);
+        }
+        if (counts.isEmpty()) {
+            return counts;
+        }
+
+        List<Integer> ids = new ArrayList<>(counts.keySet());
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MULTI_GET_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, ids.size()));
+                String sql = "SELECT event_id, COUNT(*) AS comment_count FROM Comment " +
+                             "WHERE event_id IN (" + SqlUtil.placeholders(chunk.size()) + ") GROUP BY event_id";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        counts.put(rs.getInt("event_id"), rs.getInt("comment_count"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return counts;
+    }
+
+    // 2. Add Comment: queued for a batched insert; written directly if the writer is stopped or the queue is full
+    public boolean addComment(int userId, int eventId, String content) {
+        Comment c = new Comment();
+        c.setUserId(userId);
+        c.setEventId(eventId);
+        c.setContent(content);
+        // Whole seconds: posted_at has no fractional part, and cached rows must match the stored value.
+        // JVM clock, stored as-is: the pool pins the session time zone to the JVM's (PoolConfig.timeZone)
+        c.setTimestamp(new Timestamp(System.currentTimeMillis() / 1000 * 1000));
+
+        if (COMMENT_WRITER.submit(c)) {
+            return true;
+        }
+        try {
+            insertCommentBatch(List.of(c));
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
 
-    // 3. THREAD-SAFE: Toggle RSVP (UPSERT - MySQL's "ON DUPLICATE KEY UPDATE")
-    // This handles both "New RSVP" and "Update RSVP" in a single query!
+    // 2b. BATCH INSERT: one transaction per batch (rewriteBatchedStatements turns it into a multi-row INSERT)
+    // Committed rows get their ids and author names and are appended to the recent-comments cache.
+    private void insertCommentBatch(List<Comment> batch) throws SQLException {
+        String sql = "INSERT INTO Comment (user_id, event_id, content, posted_at) VALUES (?, ?, ?, ?)";
+
+        Connection conn = DBConnection.getConnection();
+        if (conn == null) {
+            throw new SQLException("No database connection");
+        }
+        boolean announced = false;
+        try {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (Comment c : batch) {
+                    stmt.setInt(1, c.getUserId());
+                    stmt.setInt(2, c.getEventId());
+                    stmt.setString(3, c.getContent());
+                    stmt.setTimestamp(4, c.getTimestamp());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                ResultSet keys = stmt.getGeneratedKeys();
+                for (int i = 0; i < batch.size() && keys.next(); i++) {
+                    batch.get(i).setCommentId(keys.getInt(1));
+                }
+            }
+            fillAuthorNames(conn, batch);
+            for (Comment c : batch) {
+                RECENT_COMMENTS.beginWrite(c.getEventId());
+            }
+            announced = true;
+            conn.commit();
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            if (announced) {
+                for (Comment c : batch) {
+                    RECENT_COMMENTS.abortWrite(c.getEventId());
+                }
+            }
+            throw e;
+        } finally {
+            closeQuietly(conn);
+        }
+
+        for (Comment c : batch) {
+            if (c.getCommentId() > 0) {
+                RECENT_COMMENTS.append(c);
+            } else {
+                RECENT_COMMENTS.invalidate(c.getEventId()); // driver gave no key; reload instead of guessing
+            }
+            if (LIVE_UPDATES.hasSubscribers(c.getEventId())) {
+                LIVE_UPDATES.publish(c.getEventId(), "comment", commentJson(c));
+            }
+        }
+    }
+
+    // One lookup for all distinct authors in the batch
+    private void fillAuthorNames(Connection conn, List<Comment> batch) throws SQLException {
+        LinkedHashSet<Integer> userIds = new LinkedHashSet<>();
+        for (Comment c : batch) {
+            userIds.add(c.getUserId());
+        }
+        String sql = "SELECT user_id, user_name FROM User WHERE user_id IN (" + SqlUtil.placeholders(userIds.size()) + ")";
+
+        Map<Integer, String> names = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (int userId : userIds) {
+                stmt.setInt(i++, userId);
+            }
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                names.put(rs.getInt("user_id"), rs.getString("user_name"));
+            }
+        }
+        for (Comment c : batch) {
+            c.setAuthorName(names.get(c.getUserId()));
+        }
+    }
+
+    // 3. THREAD-SAFE: Toggle RSVP (UPSERT + counter update in ONE transaction)
+    // Event.attendee_count moves only when the row enters or leaves 'GOING'.
+    // 'GOING' goes through reserveSeat() so capacity is enforced; returns false if the event is full.
+    // Only releasing a seat touches the Event row: the released seat goes to the head of the waitlist
+    // in the same transaction, so nobody can grab it first. MAYBE/NOT_GOING otherwise lock just the
+    // user's own Attends row.
     public boolean toggleRSVP(int userId, int eventId, String status) {
+        if ("GOING".equals(status)) {
+            return "GOING".equals(reserveSeat(userId, eventId, false));
+        }
+
+        String sqlRelease = "UPDATE Event SET attendee_count = attendee_count - 1 WHERE event_id = ?";
+
+        Connection conn = null;
+        boolean countPending = false;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            String previous = claimRsvp(conn, userId, eventId);
+            boolean changed = upsertRsvp(conn, userId, eventId, status); // 'NOT_GOING', 'MAYBE'
+
+            int delta = goingDelta(previous, status);
+            List<Integer> promoted = new ArrayList<>();
+            if (delta < 0) {
+                try (PreparedStatement stmt = conn.prepareStatement(sqlRelease)) {
+                    stmt.setInt(1, eventId);
+                    stmt.executeUpdate(); // Takes the Event row lock; lockEvent() below re-reads under it
+                }
+                int[] seats = lockEvent(conn, eventId);
+                int freeSeats = seats == null ? 0 : seats[1] - seats[0];
+                if (freeSeats > 0) {
+                    promoted = promoteHead(conn, eventId, Math.min(freeSeats, MAX_INLINE_PROMOTIONS));
+                }
+            }
+
+            int countDelta = delta + promoted.size();
+            if (countDelta != 0) {
+                ATTENDEE_COUNTS.beginWrite(eventId); // Before the commit, so no reader caches the old count
+                countPending = true;
+            }
+            conn.commit();
+            if (countPending) {
+                ATTENDEE_COUNTS.endWrite(eventId, countDelta); // Only after the DB agrees
+                countPending = false;
+                publishAttendeeCount(eventId);
+            }
+            if ("WAITLISTED".equals(previous)) {
+                WAITLIST.left(eventId, userId);
+            }
+            if (!promoted.isEmpty()) {
+                WAITLIST.promoted(eventId, promoted);
+            }
+            if (promoted.size() == MAX_INLINE_PROMOTIONS) {
+                WAITLIST.seatFreed(eventId); // More seats than we promote inline: the worker does the rest
+            }
+            return changed;
+
+        } catch (SQLException | RuntimeException e) { // RuntimeException: no connection available
+            rollbackQuietly(conn);
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (countPending) {
+                ATTENDEE_COUNTS.endWrite(eventId, 0); // The commit failed
+            }
+            closeQuietly(conn);
+        }
+    }
+
+    // 3b. THREAD-SAFE: Capacity-enforced, first-come-first-served RSVP
+    // Returns: "GOING", "WAITLISTED", "FULL", or "ERROR"
+    public String reserveSeat(int userId, int eventId) {
+        return reserveSeat(userId, eventId, true);
+    }
+
+    public String reserveSeat(int userId, int eventId, boolean joinWaitlist) {
+        // Senior Trick (again): the capacity check IS the update. Row-level locking makes concurrent
+        // seat grabs for the same event queue up on that one statement, so attendee_count can never
+        // pass max_attendees, and a caller that finds the event full never takes the Event row lock.
+        String sqlTakeSeat = "UPDATE Event SET attendee_count = attendee_count + 1 " +
+                             "WHERE event_id = ? AND attendee_count < max_attendees";
+
+        Connection conn = null;
+        boolean countPending = false;
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            String previous = claimRsvp(conn, userId, eventId);
+            int[] seats = readSeats(conn, eventId);
+            if (seats == null) {
+                conn.rollback();
+                return "ERROR"; // No such event
+            }
+            if ("GOING".equals(previous) || "WAITLISTED".equals(previous)) {
+                conn.rollback(); // Nothing to change: double click, or keeps its queue position
+                if ("WAITLISTED".equals(previous) && seats[0] < seats[1]) {
+                    WAITLIST.seatFreed(eventId); // Seats and waiters: the worker promotes in queue order
+                }
+                return "GOING".equals(previous) ? "GOING" : joinWaitlist ? "WAITLISTED" : "FULL";
+            }
+
+            // The waitlist is served first: with waiters in line, free seats go to whoever has waited
+            // longest (under the Event row lock, as in promoteFromWaitlist), and the caller only gets
+            // one if seats are left once the queue is empty
+            List<Integer> promoted = new ArrayList<>();
+            boolean queueDrained = true;
+            int freeSeats = 0;
+            int seatsTaken = 0;
+            if (seats[0] < seats[1]) {
+                if (hasWaiters(conn, eventId)) {
+                    int[] locked = lockEvent(conn, eventId);
+                    freeSeats = locked[1] - locked[0];
+                    if (freeSeats > 0) {
+                        int limit = Math.min(freeSeats, MAX_INLINE_PROMOTIONS);
+                        promoted = promoteHead(conn, eventId, limit);
+                        freeSeats -= promoted.size();
+                        queueDrained = promoted.size() < limit;
+                    }
+                }
+                if (queueDrained) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sqlTakeSeat)) {
+                        stmt.setInt(1, eventId);
+                        seatsTaken = stmt.executeUpdate();
+                    }
+                }
+            }
+
+            String outcome;
+            if (seatsTaken > 0) {
+                upsertRsvp(conn, userId, eventId, "GOING");
+                outcome = "GOING";
+            } else if (joinWaitlist) {
+                upsertRsvp(conn, userId, eventId, "WAITLISTED");
+                outcome = "WAITLISTED";
+            } else {
+                outcome = "FULL";
+            }
+
+            int delta = promoted.size() + seatsTaken;
+            if (delta > 0) {
+                ATTENDEE_COUNTS.beginWrite(eventId);
+                countPending = true;
+            }
+            if ("FULL".equals(outcome) && delta == 0) {
+                conn.rollback(); // Drops the row claimRsvp() may have created
+            } else {
+                conn.commit();
+            }
+            if (countPending) {
+                ATTENDEE_COUNTS.endWrite(eventId, delta);
+                countPending = false;
+                publishAttendeeCount(eventId);
+            }
+            if (!promoted.isEmpty()) {
+                WAITLIST.promoted(eventId, promoted);
+            }
+            if (!queueDrained && freeSeats > 0) {
+                WAITLIST.seatFreed(eventId); // Still seats and waiters left: the worker carries on
+            }
+            if ("WAITLISTED".equals(outcome)) {
+                WAITLIST.joined(eventId, userId, System.currentTimeMillis());
+            }
+            return outcome;
+
+        } catch (SQLException | RuntimeException e) { // RuntimeException: no connection available
+            rollbackQuietly(conn);
+            e.printStackTrace();
+            return "ERROR";
+        } finally {
+            if (countPending) {
+                ATTENDEE_COUNTS.endWrite(eventId, 0); // The commit failed
+            }
+            closeQuietly(conn);
+        }
+    }
+
+    // 3c. WAITLIST PROMOTION (backstop): Move the oldest WAITLISTED rows into free seats (one transaction).
+    // Seats released through toggleRSVP()/reserveSeat() are handed over inline; this catches the rest
+    // (capacity raised by an admin, more free seats than one inline batch, missed signals).
+    // Called by the WaitlistEngine worker; returns the promoted user ids in queue order.
+    public List<Integer> promoteFromWaitlist(int eventId, int maxSeats) throws SQLException {
+        List<Integer> promoted = new ArrayList<>();
+        Connection conn = null;
+        boolean countPending = true;
+        ATTENDEE_COUNTS.beginWrite(eventId);
+        try {
+            conn = DBConnection.getConnection();
+            conn.setAutoCommit(false);
+
+            // Same lock as the inline promotions in reserveSeat()/toggleRSVP(): the Event row, then waiters' rows
+            int[] seats = lockEvent(conn, eventId);
+            int freeSeats = seats == null ? 0 : seats[1] - seats[0];
+            if (freeSeats > 0) {
+                promoted = promoteHead(conn, eventId, Math.min(maxSeats, freeSeats));
+            }
+
+            conn.commit();
+            ATTENDEE_COUNTS.endWrite(eventId, promoted.size());
+            countPending = false;
+            if (!promoted.isEmpty()) {
+                publishAttendeeCount(eventId);
+            }
+            return promoted;
+
+        } catch (SQLException e) {
+            rollbackQuietly(conn);
+            throw e;
+        } finally {
+            if (countPending) {
+                ATTENDEE_COUNTS.endWrite(eventId, 0);
+            }
+            closeQuietly(conn);
+        }
+    }
+
+    // Promote up to `limit` of the longest-waiting WAITLISTED rows to GOING and add them to the counter.
+    // The caller holds the Event row lock (lockEvent) and has checked that `limit` seats are free.
+    // Waiters never take the Event lock while holding their own row (reserveSeat leaves them queued),
+    // so locking their rows here cannot close a cycle.
+    private List<Integer> promoteHead(Connection conn, int eventId, int limit) throws SQLException {
+        String sqlHead = "SELECT user_id FROM Attends " +
+                         "WHERE event_id = ? AND rsvp_status = 'WAITLISTED' " +
+                         "ORDER BY rsvp_date, user_id LIMIT ?";
+        String sqlPromote = "UPDATE Attends SET rsvp_status = 'GOING', rsvp_date = NOW() " +
+                            "WHERE event_id = ? AND user_id = ? AND rsvp_status = 'WAITLISTED'";
+        String sqlCounter = "UPDATE Event SET attendee_count = attendee_count + ? WHERE event_id = ?";
+
+        List<Integer> head = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sqlHead)) {
+            stmt.setInt(1, eventId);
+            stmt.setInt(2, limit);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                head.add(rs.getInt("user_id"));
+            }
+        }
+
+        List<Integer> promoted = new ArrayList<>();
+        if (head.isEmpty()) {
+            return promoted;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sqlPromote)) {
+            for (Integer userId : head) {
+                stmt.setInt(1, eventId);
+                stmt.setInt(2, userId);
+                stmt.addBatch();
+            }
+            int[] results = stmt.executeBatch();
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] != 0) { // SUCCESS_NO_INFO (-2) also counts
+                    promoted.add(head.get(i));
+                }
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sqlCounter)) {
+            stmt.setInt(1, promoted.size());
+            stmt.setInt(2, eventId);
+            stmt.executeUpdate();
+        }
+        return promoted;
+    }
+
+    // 3d. Everyone currently waitlisted, per event, oldest first (for the engine's in-memory mirror)
+    public Map<Integer, LinkedHashMap<Integer, Long>> getAllWaitlists() {
+        Map<Integer, LinkedHashMap<Integer, Long>> waiting = new HashMap<>();
+        String sql = "SELECT event_id, user_id, rsvp_date FROM Attends " +
+                     "WHERE rsvp_status = 'WAITLISTED' ORDER BY event_id, rsvp_date, user_id";
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                Timestamp joined = rs.getTimestamp("rsvp_date");
+                waiting.computeIfAbsent(rs.getInt("event_id"), k -> new LinkedHashMap<>())
+                       .put(rs.getInt("user_id"), joined == null ? 0L : joined.getTime());
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return waiting;
+    }
+
+    // 3e. SWEEP: Re-signal events that have both free seats and waiters (missed signals,
+    // capacity raised by an admin, another app node freed the seat, ...)
+    public int sweepWaitlists() {
+        WAITLIST.reloadMirror(getAllWaitlists());
+
+        String sql = "SELECT DISTINCT a.event_id FROM Attends a " +
+                     "JOIN Event e ON e.event_id = a.event_id " +
+                     "WHERE a.rsvp_status = 'WAITLISTED' AND e.attendee_count < e.max_attendees";
+        int signalled = 0;
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                WAITLIST.seatFreed(rs.getInt("event_id"));
+                signalled++;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return signalled;
+    }
+
+    // 3f. 1-based waitlist position (0 = not on the waitlist)
+    public int getWaitlistPosition(int userId, int eventId) {
+        return WAITLIST.getPosition(eventId, userId);
+    }
+
+    // Lock the event row until the transaction ends; returns {attendee_count, max_attendees}, or null if
+    // there is no such event. Only paths that move the GOING count take it (releasing a seat, promoting
+    // waiters), always after the caller's own Attends row and before any waiter's row, so the lock order
+    // is the same everywhere.
+    private int[] lockEvent(Connection conn, int eventId) throws SQLException {
+        String sql = "SELECT attendee_count, max_attendees FROM Event WHERE event_id = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, eventId);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? new int[] { rs.getInt("attendee_count"), rs.getInt("max_attendees") } : null;
+        }
+    }
+
+    // Same numbers without a lock: only a hint, the guarded UPDATE decides whether a seat is taken
+    private int[] readSeats(Connection conn, int eventId) throws SQLException {
+        String sql = "SELECT attendee_count, max_attendees FROM Event WHERE event_id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, eventId);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? new int[] { rs.getInt("attendee_count"), rs.getInt("max_attendees") } : null;
+        }
+    }
+
+    private boolean hasWaiters(Connection conn, int eventId) throws SQLException {
+        String sql = "SELECT 1 FROM Attends WHERE event_id = ? AND rsvp_status = 'WAITLISTED' LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, eventId);
+            return stmt.executeQuery().next();
+        }
+    }
+
+    // Lock the user's Attends row for this event and return its status (NOT_GOING for a first RSVP).
+    // The upsert creates a NOT_GOING row if there is none, so the FOR UPDATE always hits an existing
+    // primary key: a record lock, never the gap lock that made first-time RSVPs deadlock. Callers that
+    // end up changing nothing roll back, which removes the row again.
+    private String claimRsvp(Connection conn, int userId, int eventId) throws SQLException {
+        String sqlClaim = "INSERT INTO Attends (user_id, event_id, rsvp_status, rsvp_date) " +
+                          "VALUES (?, ?, 'NOT_GOING', NOW()) " +
+                          "ON DUPLICATE KEY UPDATE rsvp_status = rsvp_status";
+        String sqlRead = "SELECT rsvp_status FROM Attends WHERE user_id = ? AND event_id = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sqlClaim)) {
+            stmt.setInt(1, userId);
+            stmt.setInt(2, eventId);
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sqlRead)) {
+            stmt.setInt(1, userId);
+            stmt.setInt(2, eventId);
+            ResultSet rs = stmt.executeQuery();
+            return rs.next() ? rs.getString("rsvp_status") : null;
+        }
+    }
+
+    private boolean upsertRsvp(Connection conn, int userId, int eventId, String status) throws SQLException {
         // MySQL Superpower: If (user_id, event_id) already exists, UPDATE instead of INSERT
         String sql = "INSERT INTO Attends (user_id, event_id, rsvp_status, rsvp_date) " +
                      "VALUES (?, ?, ?, NOW()) " +
                      "ON DUPLICATE KEY UPDATE rsvp_status = VALUES(rsvp_status), rsvp_date = NOW()";
-
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             stmt.setInt(2, eventId);
-            stmt.setString(3, status); // 'GOING', 'NOT_GOING', 'MAYBE'
-            
+            stmt.setString(3, status);
             return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+        }
+    }
+
+    // +1 when an RSVP becomes GOING, -1 when it stops being GOING, else 0
+    private static int goingDelta(String previous, String next) {
+        int before = "GOING".equals(previous) ? 1 : 0;
+        int after = "GOING".equals(next) ? 1 : 0;
+        return after - before;
+    }
+
+    private static void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
         }
     }
 
@@ -105,6 +801,38 @@ public class InteractionDAO {
         return null; // User hasn't RSVP'd yet
     }
 
+    // 4b. MULTI-GET: The user's RSVP status for many events (primary-key range on user_id).
+    // Returns eventId -> status; events the user has not RSVP'd to are left out.
+    public Map<Integer, String> getUserRSVPStatuses(int userId, Collection<Integer> eventIds) {
+        Map<Integer, String> statuses = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(eventIds));
+        if (ids.isEmpty()) {
+            return statuses;
+        }
+
+        try (Connection conn = DBConnection.getConnection()) {
+            for (int from = 0; from < ids.size(); from += MULTI_GET_CHUNK_SIZE) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, ids.size()));
+                String sql = "SELECT event_id, rsvp_status FROM Attends " +
+                             "WHERE user_id = ? AND event_id IN (" + SqlUtil.placeholders(chunk.size()) + ")";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, userId);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 2, chunk.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        statuses.put(rs.getInt("event_id"), rs.getString("rsvp_status"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return statuses;
+    }
+
     // 5. Get All Attendees for an Event
     public List<Attends> getEventAttendees(int eventId) {
         List<Attends> attendees = new ArrayList<>();
@@ -135,14 +863,47 @@ public class InteractionDAO {
         return attendees;
     }
 
-    // 6. Check if Event is Full (Capacity Check)
+    // 5b. STREAMING EXPORT: Same rows as getEventAttendees, pushed to the consumer as they arrive.
+    // The order follows idx_attends_event_status_date, so no sort runs before the first row.
+    // Returns the number of rows delivered, or -1 if the query failed part-way.
+    public int streamEventAttendees(int eventId, Consumer<Attends> consumer) {
+        String sql = "SELECT a.user_id, a.event_id, a.rsvp_status, a.rsvp_date, u.user_name " +
+                     "FROM Attends a " +
+                     "JOIN User u ON a.user_id = u.user_id " +
+                     "WHERE a.event_id = ? AND a.rsvp_status = 'GOING' " +
+                     "ORDER BY a.rsvp_date DESC, a.user_id DESC";
+
+        int delivered = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // With useCursorFetch the driver reads STREAM_FETCH_SIZE rows at a time
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+            stmt.setInt(1, eventId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Attends a = new Attends();
+                    a.setUserId(rs.getInt("user_id"));
+                    a.setEventId(rs.getInt("event_id"));
+                    a.setRsvpStatus(rs.getString("rsvp_status"));
+                    a.setRsvpDate(rs.getTimestamp("rsvp_date"));
+                    a.setUserName(rs.getString("user_name"));
+                    consumer.accept(a);
+                    delivered++;
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+        return delivered;
+    }
+
+    // 6. Check if Event is Full (Capacity Check) - primary-key lookup on the counter column
     public boolean isEventFull(int eventId) {
-        String sql = "SELECT e.max_attendees, COUNT(a.user_id) as current_count " +
-                     "FROM Event e " +
-                     "LEFT JOIN Attends a ON e.event_id = a.event_id AND a.rsvp_status = 'GOING' " +
-                     "WHERE e.event_id = ? " +
-                     "GROUP BY e.event_id, e.max_attendees";
+        String sql = "SELECT max_attendees, attendee_count FROM Event WHERE event_id = ?";
 
+        long stamp = ATTENDEE_COUNTS.loadStamp(eventId); // Before the read, so a racing RSVP isn't cached twice
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
@@ -151,7 +912,8 @@ public class InteractionDAO {
             
             if (rs.next()) {
                 int maxAttendees = rs.getInt("max_attendees");
-                int currentCount = rs.getInt("current_count");
+                int currentCount = rs.getInt("attendee_count");
+                ATTENDEE_COUNTS.load(eventId, stamp, currentCount);
                 return currentCount >= maxAttendees;
             }
         } catch (SQLException e) {
@@ -159,4 +921,107 @@ public class InteractionDAO {
         }
         return false;
     }
+
+    // 7. Current GOING count, from memory when this event has been seen before
+    public int getAttendeeCount(int eventId) {
+        int cached = ATTENDEE_COUNTS.get(eventId);
+        if (cached >= 0) {
+            return cached;
+        }
+
+        String sql = "SELECT attendee_count FROM Event WHERE event_id = ?";
+        long stamp = ATTENDEE_COUNTS.loadStamp(eventId);
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, eventId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                int count = rs.getInt("attendee_count");
+                ATTENDEE_COUNTS.load(eventId, stamp, count);
+                return count;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    // 8. REPAIR JOB: Recompute every counter from Attends; returns how many events were wrong
+    public int repairAttendeeCounts() {
+        String sql = "UPDATE Event e " +
+                     "LEFT JOIN (SELECT event_id, COUNT(*) AS going FROM Attends " +
+                     "           WHERE rsvp_status = 'GOING' GROUP BY event_id) a " +
+                     "ON a.event_id = e.event_id " +
+                     "SET e.attendee_count = COALESCE(a.going, 0) " +
+                     "WHERE e.attendee_count <> COALESCE(a.going, 0)";
+
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+
+            int repaired = stmt.executeUpdate(sql);
+            ATTENDEE_COUNTS.clear(); // Reload from the corrected column on next read
+            if (repaired > 0) {
+                System.err.println("⚠️ Repaired attendee_count on " + repaired + " event(s).");
+            }
+            return repaired;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    // ==================== LIVE UPDATES ====================
+
+    private void publishAttendeeCount(int eventId) {
+        if (LIVE_UPDATES.hasSubscribers(eventId)) {
+            // Count read on the event's dispatch lane, so a slower publisher cannot deliver an older count last
+            LIVE_UPDATES.publish(eventId, "attendees", () -> attendeesJson(eventId, getAttendeeCount(eventId)));
+        }
+    }
+
+    public static String attendeesJson(int eventId, int attendeeCount) {
+        return "{\"eventId\":" + eventId + ",\"attendeeCount\":" + attendeeCount + "}";
+    }
+
+    private static String commentJson(Comment c) {
+        return "{\"commentId\":" + c.getCommentId() +
+               ",\"eventId\":" + c.getEventId() +
+               ",\"userId\":" + c.getUserId() +
+               ",\"authorName\":" + LiveUpdateBus.quote(c.getAuthorName()) +
+               ",\"content\":" + LiveUpdateBus.quote(c.getContent()) +
+               ",\"postedAt\":" + c.getTimestamp().getTime() + "}";
+    }
+
+    // Inner class for one page of the comment feed
+    public static class CommentPage {
+        public List<Comment> comments = new ArrayList<>();
+        public String nextCursor; // null when this is the last page
+    }
+
+    // Opaque keyset position: Base64 of "posted_at millis|comment_id" of the last row on a page
+    private static class CommentCursor {
+        final long postedAtMillis;
+        final int commentId;
+
+        CommentCursor(long postedAtMillis, int commentId) {
+            this.postedAtMillis = postedAtMillis;
+            this.commentId = commentId;
+        }
+
+        String encode() {
+            String raw = postedAtMillis + "|" + commentId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CommentCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new CommentCursor(Long.parseLong(raw.substring(0, sep)), Integer.parseInt(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid comment cursor", e);
+            }
+        }
+    }
 }
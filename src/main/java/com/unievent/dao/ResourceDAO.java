@@ -1,12 +1,17 @@
 package com.unievent.dao;
 
+import com.unievent.cache.ReferenceCache;
+import com.unievent.cache.VenueSchedule;
 import com.unievent.config.DBConnection;
 import com.unievent.model.Category;
 import com.unievent.model.Venue;
 import com.unievent.model.Department;
+import com.unievent.service.VenueScheduler;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Utility DAO for Managing Categories, Venues, and Departments
@@ -14,9 +19,42 @@ import java.util.List;
  */
 public class ResourceDAO {
 
+    // Reference data changes a few times a term: serve it from memory, reload after TTL or on add*()
+    private static final long REFERENCE_TTL_MILLIS = Long.getLong("unievent.cache.referenceTtlMillis", 10 * 60_000L);
+
+    private static final ReferenceCache<Category> CATEGORIES =
+            new ReferenceCache<>("Category", ResourceDAO::loadCategories, Category::getCatId, REFERENCE_TTL_MILLIS);
+    private static final ReferenceCache<Venue> VENUES =
+            new ReferenceCache<>("Venue", ResourceDAO::loadVenues, Venue::getVenueId, REFERENCE_TTL_MILLIS);
+    private static final ReferenceCache<Department> DEPARTMENTS =
+            new ReferenceCache<>("Department", ResourceDAO::loadDepartments, Department::getDeptId, REFERENCE_TTL_MILLIS);
+
+    // PENDING/APPROVED bookings per venue, for availability checks without a query
+    private static final VenueSchedule SCHEDULE = new VenueSchedule();
+
+    public static VenueSchedule getVenueSchedule() {
+        return SCHEDULE;
+    }
+
+    private static final VenueScheduler SCHEDULER = new VenueScheduler(SCHEDULE);
+
     // ==================== CATEGORY OPERATIONS ====================
     
+    // Cached, unmodifiable list sorted by name
     public List<Category> getAllCategories() {
+        return CATEGORIES.getAll();
+    }
+
+    // Cached id -> Category map (lets other DAOs skip the Category join)
+    public Map<Integer, Category> getCategoryMap() {
+        return CATEGORIES.getMap();
+    }
+
+    public Category getCategoryById(int catId) {
+        return CATEGORIES.getById(catId);
+    }
+
+    private static List<Category> loadCategories() throws SQLException {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT * FROM Category ORDER BY cat_name";
 
@@ -30,8 +68,6 @@ public class ResourceDAO {
                 c.setCatName(rs.getString("cat_name"));
                 categories.add(c);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return categories;
     }
@@ -43,7 +79,9 @@ public class ResourceDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, catName);
-            return stmt.executeUpdate() > 0;
+            boolean added = stmt.executeUpdate() > 0;
+            CATEGORIES.invalidate();
+            return added;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -52,7 +90,21 @@ public class ResourceDAO {
 
     // ==================== VENUE OPERATIONS ====================
     
+    // Cached, unmodifiable list sorted by name
     public List<Venue> getAllVenues() {
+        return VENUES.getAll();
+    }
+
+    // Cached id -> Venue map (lets other DAOs skip the Venue join)
+    public Map<Integer, Venue> getVenueMap() {
+        return VENUES.getMap();
+    }
+
+    public Venue getVenueById(int venueId) {
+        return VENUES.getById(venueId);
+    }
+
+    private static List<Venue> loadVenues() throws SQLException {
         List<Venue> venues = new ArrayList<>();
         String sql = "SELECT * FROM Venue ORDER BY venue_name";
 
@@ -68,8 +120,6 @@ public class ResourceDAO {
                 v.setCapacity(rs.getInt("capacity"));
                 venues.add(v);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return venues;
     }
@@ -83,7 +133,9 @@ public class ResourceDAO {
             stmt.setString(1, venue.getVenueName());
             stmt.setString(2, venue.getLocation());
             stmt.setInt(3, venue.getCapacity());
-            return stmt.executeUpdate() > 0;
+            boolean added = stmt.executeUpdate() > 0;
+            VENUES.invalidate();
+            return added;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -91,20 +143,25 @@ public class ResourceDAO {
     }
 
     // Check Venue Availability for a Time Slot
-    public boolean isVenueAvailable(int venueId, String startTime, String endTime) {
+    // Any PENDING/APPROVED booking overlapping [startTime, endTime) makes the venue unavailable,
+    // including one that starts before and ends after the requested slot.
+    public boolean isVenueAvailable(int venueId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (SCHEDULE.isReady()) {
+            return SCHEDULE.isFree(venueId, startTime, endTime);
+        }
+
+        // Index still building: same check in SQL
         String sql = "SELECT COUNT(*) FROM Event " +
                      "WHERE venue_id = ? " +
                      "AND status IN ('PENDING', 'APPROVED') " +
-                     "AND ((start <= ? AND end >= ?) OR (start <= ? AND end >= ?))";
+                     "AND start < ? AND end > ?";
         
         try (Connection conn = DBConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, venueId);
-            stmt.setString(2, startTime);
-            stmt.setString(3, startTime);
-            stmt.setString(4, endTime);
-            stmt.setString(5, endTime);
+            stmt.setObject(2, endTime);
+            stmt.setObject(3, startTime);
             
             ResultSet rs = stmt.executeQuery();
             if (rs.next()) {
@@ -116,9 +173,119 @@ public class ResourceDAO {
         return false;
     }
 
+    // Bookings that overlap the slot, earliest first (what the booking form shows as "clashes with")
+    public List<VenueSchedule.Booking> getVenueConflicts(int venueId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (SCHEDULE.isReady()) {
+            return SCHEDULE.conflicts(venueId, startTime, endTime);
+        }
+
+        // Index still building: same query in SQL
+        String sql = "SELECT event_id, venue_id, start, end FROM Event " +
+                     "WHERE venue_id = ? " +
+                     "AND status IN ('PENDING', 'APPROVED') " +
+                     "AND start < ? AND end > ? " +
+                     "ORDER BY start, event_id";
+        List<VenueSchedule.Booking> conflicts = new ArrayList<>();
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, venueId);
+            stmt.setObject(2, endTime);
+            stmt.setObject(3, startTime);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                conflicts.add(VenueSchedule.booking(rs.getInt("event_id"), rs.getInt("venue_id"),
+                        rs.getObject("start", LocalDateTime.class), rs.getObject("end", LocalDateTime.class)));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return conflicts;
+    }
+
+    // Earliest start at or after fromTime with durationMinutes free, looking at most searchDays ahead; null if none
+    public LocalDateTime findNextFreeSlot(int venueId, LocalDateTime fromTime, long durationMinutes, int searchDays) {
+        LocalDateTime notAfter = fromTime.plusDays(searchDays);
+        if (SCHEDULE.isReady()) {
+            return SCHEDULE.nextFreeSlot(venueId, fromTime, durationMinutes, notAfter);
+        }
+
+        // Index still building: walk the venue's bookings from SQL, trying right after each one that is in the way
+        String sql = "SELECT start, end FROM Event " +
+                     "WHERE venue_id = ? " +
+                     "AND status IN ('PENDING', 'APPROVED') " +
+                     "AND end > ? AND start < ? " +
+                     "ORDER BY start";
+        LocalDateTime candidate = fromTime;
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, venueId);
+            stmt.setObject(2, fromTime);
+            stmt.setObject(3, notAfter.plusMinutes(durationMinutes));
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                LocalDateTime start = rs.getObject("start", LocalDateTime.class);
+                LocalDateTime end = rs.getObject("end", LocalDateTime.class);
+                if (candidate.isAfter(notAfter)) return null;
+                if (!start.isBefore(candidate.plusMinutes(durationMinutes))) break; // Gap before it is long enough
+                if (end.isAfter(candidate)) candidate = end;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return null;
+        }
+        return candidate.isAfter(notAfter) ? null : candidate;
+    }
+
+    // Alternatives when the chosen venue is taken: top k venue/slot pairs that fit the audience and the window
+    public List<VenueScheduler.Suggestion> suggestVenues(LocalDateTime windowStart, LocalDateTime windowEnd,
+                                                         long durationMinutes, int expectedAttendees, int k) {
+        return SCHEDULER.suggest(getAllVenues(), windowStart, windowEnd, durationMinutes, expectedAttendees, k);
+    }
+
+    // Reload the venue schedule from the Event table (startup and periodic resync)
+    public void rebuildVenueSchedule() {
+        String sql = "SELECT event_id, venue_id, start, end FROM Event WHERE status IN ('PENDING', 'APPROVED')";
+        List<VenueSchedule.Booking> bookings = new ArrayList<>();
+
+        SCHEDULE.beginRebuild(); // Bookings made or released during the scan are replayed onto it
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(1_000);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                LocalDateTime start = rs.getObject("start", LocalDateTime.class);
+                LocalDateTime end = rs.getObject("end", LocalDateTime.class);
+                if (start != null && end != null) {
+                    bookings.add(VenueSchedule.booking(rs.getInt("event_id"), rs.getInt("venue_id"), start, end));
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+            SCHEDULE.abortRebuild();
+            return; // Keep the previous schedule (or the SQL fallback if there is none yet)
+        }
+        SCHEDULE.rebuild(bookings);
+    }
+
     // ==================== DEPARTMENT OPERATIONS ====================
     
+    // Cached, unmodifiable list sorted by name
     public List<Department> getAllDepartments() {
+        return DEPARTMENTS.getAll();
+    }
+
+    public Map<Integer, Department> getDepartmentMap() {
+        return DEPARTMENTS.getMap();
+    }
+
+    private static List<Department> loadDepartments() throws SQLException {
         List<Department> departments = new ArrayList<>();
         String sql = "SELECT * FROM Department ORDER BY dept_name";
 
@@ -132,8 +299,6 @@ public class ResourceDAO {
                 d.setDeptName(rs.getString("dept_name"));
                 departments.add(d);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
         return departments;
     }
@@ -145,7 +310,9 @@ public class ResourceDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, deptName);
-            return stmt.executeUpdate() > 0;
+            boolean added = stmt.executeUpdate() > 0;
+            DEPARTMENTS.invalidate();
+            return added;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -0,0 +1,19 @@
+package com.unievent.dao;
+
+/**
+ * Small helpers for building SQL text shared by the DAOs.
+ */
+final class SqlUtil {
+
+    private SqlUtil() {
+    }
+
+    // "?, ?, ?" for an IN list of count values (count > 0)
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.unievent.dao;
 
+import com.unievent.cache.DashboardCounters;
 import com.unievent.config.DBConnection;
 import com.unievent.model.User;
 import java.sql.*;
@@ -49,7 +50,14 @@ public class UserAdvancedDAO {
             stmtStudent.executeUpdate();
 
             // 5. COMMIT TRANSACTION (Success!)
-            conn.commit();
+            DashboardCounters counters = AdminDAO.getDashboardCounters();
+            counters.beginUpdate();
+            try {
+                conn.commit();
+                counters.onUserRegistered();
+            } finally {
+                counters.endUpdate();
+            }
             System.out.println("✅ Student registered successfully with User ID: " + newUserId);
             return true;
 
@@ -116,7 +124,14 @@ public class UserAdvancedDAO {
             stmtStaff.setString(4, position);
             stmtStaff.executeUpdate();
 
-            conn.commit();
+            DashboardCounters counters = AdminDAO.getDashboardCounters();
+            counters.beginUpdate();
+            try {
+                conn.commit();
+                counters.onUserRegistered();
+            } finally {
+                counters.endUpdate();
+            }
             System.out.println("✅ Staff registered successfully with User ID: " + newUserId);
             return true;
 
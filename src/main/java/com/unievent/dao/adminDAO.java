@@ -1,14 +1,38 @@
 package com.unievent.dao;
 
+import com.unievent.cache.DashboardCounters;
 import com.unievent.config.DBConnection;
 import com.unievent.model.Event; // Assuming you have an Event model
 import com.unievent.model.User;  // Assuming you have a User model
+import com.unievent.model.Venue;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 public class AdminDAO {
 
+    // Materialized dashboard stats, shared by every DAO that changes what they count
+    private static final DashboardCounters COUNTERS = new DashboardCounters(AdminDAO::countSystemStats);
+
+    public static DashboardCounters getDashboardCounters() {
+        return COUNTERS;
+    }
+
+    // Ids per IN (...) list in bulk statements; keeps packets and parse time bounded
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+
+    private final ResourceDAO resourceDAO = new ResourceDAO();
+
     // 1. ADMIN LOGIN (Checks both User table and Admin table)
     public boolean validateAdmin(String email, String password) {
         // Note: In production, password should be hashed!
@@ -31,26 +55,41 @@ public class AdminDAO {
     }
 
     // 2. GET DASHBOARD STATS (Total Users, Pending Events, etc.)
+    // O(1): served from the in-memory counters, reconciled against the DB in the background
     public int[] getSystemStats() {
-        int[] stats = new int[3]; // [0]=Pending Events, [1]=Total Users, [2]=Total Events
+        return COUNTERS.snapshot(); // [0]=Pending Events, [1]=Total Users, [2]=Total Events
+    }
+
+    // The actual COUNT(*) queries, used for the initial load and each reconciliation.
+    // All three read one REPEATABLE READ snapshot.
+    private static long[] countSystemStats() throws SQLException {
+        long[] stats = new long[3]; // [0]=Pending Events, [1]=Total Users, [2]=Total Events
 
         try (Connection conn = DBConnection.getConnection();
              Statement stmt = conn.createStatement()) {
 
-            // Count Pending Events
-            ResultSet rs1 = stmt.executeQuery("SELECT COUNT(*) FROM Event WHERE status = 'PENDING'");
-            if (rs1.next()) stats[0] = rs1.getInt(1);
+            int isolation = conn.getTransactionIsolation();
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setAutoCommit(false);
+            try {
+                // Count Pending Events
+                ResultSet rs1 = stmt.executeQuery("SELECT COUNT(*) FROM Event WHERE status = 'PENDING'");
+                if (rs1.next()) stats[0] = rs1.getLong(1);
 
-            // Count Total Users
-            ResultSet rs2 = stmt.executeQuery("SELECT COUNT(*) FROM User");
-            if (rs2.next()) stats[1] = rs2.getInt(1);
+                // Count Total Users
+                ResultSet rs2 = stmt.executeQuery("SELECT COUNT(*) FROM User");
+                if (rs2.next()) stats[1] = rs2.getLong(1);
 
-            // Count Total Events
-            ResultSet rs3 = stmt.executeQuery("SELECT COUNT(*) FROM Event");
-            if (rs3.next()) stats[2] = rs3.getInt(1);
+                // Count Total Events
+                ResultSet rs3 = stmt.executeQuery("SELECT COUNT(*) FROM Event");
+                if (rs3.next()) stats[2] = rs3.getLong(1);
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+                conn.commit();
+            } finally {
+                conn.rollback(); // No-op after the commit; ends the snapshot if a COUNT failed
+                conn.setAutoCommit(true);
+                conn.setTransactionIsolation(isolation);
+            }
         }
         return stats;
     }
@@ -69,7 +108,7 @@ public class AdminDAO {
                 e.setEventId(rs.getInt("event_id"));
                 e.setTitle(rs.getString("title"));
                 e.setDescription(rs.getString("description"));
-                e.setStart(rs.getString("start"));
+                e.setStart(rs.getObject("start", LocalDateTime.class));
                 // Add other setters as needed
                 events.add(e);
             }
@@ -79,6 +118,88 @@ public class AdminDAO {
         return events;
     }
 
+    // 3b. APPROVAL QUEUE: Oldest submissions first, keyset-paginated on (created_at, event_id).
+    // List columns only (no description), with organizer and venue names for the admin.
+    // Pass cursor = null for the first page, then the previous page's nextCursor.
+    public EventAdvancedDAO.EventPage getPendingQueuePage(String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_QUEUE_PAGE_SIZE));
+        EventAdvancedDAO.EventPage page = new EventAdvancedDAO.EventPage();
+        QueueCursor after = (cursor == null || cursor.isEmpty()) ? null : QueueCursor.decode(cursor);
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT e.event_id, e.user_id, e.venue_id, e.cat_id, e.title, e.start, e.end, " +
+                "e.max_attendees, e.created_at, u.user_name AS organizer_name " +
+                "FROM Event e JOIN User u ON e.user_id = u.user_id " +
+                "WHERE e.status = 'PENDING'");
+        if (after != null) {
+            // Spelled out so MySQL seeks on idx_event_status_created (status, created_at, event_id)
+            sql.append(" AND (e.created_at > ? OR (e.created_at = ? AND e.event_id > ?))");
+        }
+        sql.append(" ORDER BY e.created_at, e.event_id LIMIT ?");
+
+        // Before borrowing a connection: a cold venue cache loads on this thread with a connection of its own
+        Map<Integer, Venue> venues = resourceDAO.getVenueMap();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int i = 1;
+            if (after != null) {
+                Timestamp at = new Timestamp(after.createdAtMillis);
+                stmt.setTimestamp(i++, at);
+                stmt.setTimestamp(i++, at);
+                stmt.setInt(i++, after.eventId);
+            }
+            stmt.setInt(i, limit + 1); // One extra row tells us whether there is a next page
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                if (page.events.size() == limit) {
+                    Event last = page.events.get(limit - 1);
+                    page.nextCursor = new QueueCursor(last.getCreatedAt().getTime(), last.getEventId()).encode();
+                    break;
+                }
+                Event e = new Event();
+                e.setEventId(rs.getInt("event_id"));
+                e.setUserId(rs.getInt("user_id"));
+                e.setVenueId(rs.getInt("venue_id"));
+                e.setCatId(rs.getInt("cat_id"));
+                e.setTitle(rs.getString("title"));
+                e.setStart(rs.getObject("start", LocalDateTime.class));
+                e.setEnd(rs.getObject("end", LocalDateTime.class));
+                e.setMaxAttendees(rs.getInt("max_attendees"));
+                e.setStatus("PENDING");
+                e.setCreatedAt(rs.getTimestamp("created_at"));
+                e.setOrganizerName(rs.getString("organizer_name"));
+                Venue v = venues.get(e.getVenueId());
+                if (v != null) {
+                    e.setVenueName(v.getVenueName());
+                }
+                page.events.add(e);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return page;
+    }
+
+    // 3c. LAZY DETAIL: Full description, fetched only when the admin expands a queue item
+    public String getEventDescription(int eventId) {
+        String sql = "SELECT description FROM Event WHERE event_id = ?";
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, eventId);
+            ResultSet rs = stmt.executeQuery();
+            if (rs.next()) {
+                return rs.getString("description");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     // 4. THREAD-SAFE APPROVE OR REJECT EVENT (Optimistic Locking)
     // Returns: "SUCCESS", "ALREADY_HANDLED", or "ERROR"
     public String updateEventStatus(int eventId, String newStatus) {
@@ -92,9 +213,22 @@ public class AdminDAO {
             stmt.setString(1, newStatus); // 'APPROVED' or 'REJECTED'
             stmt.setInt(2, eventId);
             
-            int rowsUpdated = stmt.executeUpdate();
+            int rowsUpdated;
+            COUNTERS.beginUpdate(); // Auto-commit: the UPDATE is the commit
+            try {
+                rowsUpdated = stmt.executeUpdate();
+                if (rowsUpdated > 0) {
+                    COUNTERS.onEventsLeftPending(1);
+                }
+            } finally {
+                COUNTERS.endUpdate();
+            }
             
             if (rowsUpdated > 0) {
+                EventAdvancedDAO.getSearchBackend().updateStatus(eventId, newStatus);
+                if ("REJECTED".equals(newStatus)) {
+                    ResourceDAO.getVenueSchedule().remove(eventId); // Slot is free again
+                }
                 return "SUCCESS";
             } else {
                 // If rowsUpdated is 0, it means the event was NOT pending anymore
@@ -106,4 +240,129 @@ public class AdminDAO {
             return "ERROR";
         }
     }
+
+    // 5. BULK APPROVE OR REJECT (same optimistic rule as above, many events per transaction)
+    // Returns eventId -> "SUCCESS" / "ALREADY_HANDLED" in input order, or "ERROR" for all on failure.
+    // Rows are locked and read first, so the per-event outcome matches what the multi-row UPDATE did.
+    // newStatus must be APPROVED or REJECTED (IllegalArgumentException otherwise).
+    public Map<Integer, String> updateEventStatuses(Collection<Integer> eventIds, String newStatus) {
+        if (!"APPROVED".equals(newStatus) && !"REJECTED".equals(newStatus)) {
+            throw new IllegalArgumentException("Bulk status must be APPROVED or REJECTED: " + newStatus);
+        }
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>(eventIds);
+        Map<Integer, String> results = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return results;
+        }
+        List<Integer> decided = new ArrayList<>(); // moved out of PENDING by this call (approved or rejected)
+
+        Connection conn = DBConnection.getConnection();
+        try {
+            conn.setAutoCommit(false);
+            List<Integer> all = new ArrayList<>(ids);
+            for (int from = 0; from < all.size(); from += BULK_CHUNK_SIZE) {
+                List<Integer> chunk = all.subList(from, Math.min(from + BULK_CHUNK_SIZE, all.size()));
+                String in = SqlUtil.placeholders(chunk.size());
+
+                // 1. Lock the rows and see which are still PENDING
+                Map<Integer, String> current = new HashMap<>();
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT event_id, status FROM Event WHERE event_id IN (" + in + ") FOR UPDATE")) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 1, chunk.get(i));
+                    }
+                    ResultSet rs = stmt.executeQuery();
+                    while (rs.next()) {
+                        current.put(rs.getInt("event_id"), rs.getString("status"));
+                    }
+                }
+
+                // 2. One multi-row UPDATE for the chunk, still guarded by status = 'PENDING'
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE Event SET status = ? WHERE event_id IN (" + in + ") AND status = 'PENDING'")) {
+                    stmt.setString(1, newStatus);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setInt(i + 2, chunk.get(i));
+                    }
+                    stmt.executeUpdate();
+                }
+
+                for (int eventId : chunk) {
+                    if ("PENDING".equals(current.get(eventId))) {
+                        results.put(eventId, "SUCCESS");
+                        decided.add(eventId);
+                    } else {
+                        results.put(eventId, "ALREADY_HANDLED"); // Not pending anymore (or gone)
+                    }
+                }
+            }
+            COUNTERS.beginUpdate();
+            try {
+                conn.commit();
+                if (!decided.isEmpty()) {
+                    COUNTERS.onEventsLeftPending(decided.size());
+                }
+            } finally {
+                COUNTERS.endUpdate();
+            }
+        } catch (SQLException | RuntimeException e) { // RuntimeException: no connection available
+            e.printStackTrace();
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            results.clear();
+            for (int eventId : ids) {
+                results.put(eventId, "ERROR");
+            }
+            return results;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        // Refresh in-memory views once for the whole batch
+        if (!decided.isEmpty()) {
+            EventAdvancedDAO.getSearchBackend().updateStatuses(decided, newStatus);
+            if ("REJECTED".equals(newStatus)) {
+                ResourceDAO.getVenueSchedule().removeAll(decided);
+            }
+        }
+        return results;
+    }
+
+    // Opaque keyset position: Base64 of "created_at millis|event_id" of the last row on a page
+    private static class QueueCursor {
+        final long createdAtMillis;
+        final int eventId;
+
+        QueueCursor(long createdAtMillis, int eventId) {
+            this.createdAtMillis = createdAtMillis;
+            this.eventId = eventId;
+        }
+
+        String encode() {
+            String raw = createdAtMillis + "|" + eventId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static QueueCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new QueueCursor(Long.parseLong(raw.substring(0, sep)), Integer.parseInt(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid queue cursor", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.unievent.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets.
+ * Bucket i counts samples in [2^(i-1), 2^i) micros; the last bucket is open-ended.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 32; // up to ~35 minutes, plenty for DB work
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        int idx = 64 - Long.numberOfLeadingZeros(micros);
+        buckets.incrementAndGet(Math.min(idx, BUCKETS - 1));
+        count.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public Snapshot snapshot() {
+        Snapshot s = new Snapshot();
+        s.bucketCounts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            s.bucketCounts[i] = buckets.get(i);
+        }
+        s.count = count.get();
+        s.sumMicros = sumMicros.get();
+        s.maxMicros = maxMicros.get();
+        return s;
+    }
+
+    // Inner class for a point-in-time view of the histogram
+    public static class Snapshot {
+        public long count;
+        public long sumMicros;
+        public long maxMicros;
+        public long[] bucketCounts;
+
+        public double meanMicros() {
+            return count == 0 ? 0 : (double) sumMicros / count;
+        }
+
+        // Upper bound (in micros) of the bucket containing the given percentile, e.g. 0.99
+        public long percentileMicros(double p) {
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(p * count);
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= rank) {
+                    return Math.min(i == 0 ? 0 : 1L << i, maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
@@ -5,7 +5,7 @@ import java.sql.Timestamp;
 public class Attends {
     private int userId;
     private int eventId;
-    private String rsvpStatus; // 'GOING', 'NOT_GOING', 'MAYBE'
+    private String rsvpStatus; // 'GOING', 'NOT_GOING', 'MAYBE', 'WAITLISTED'
     private Timestamp rsvpDate;
     
     // Transient fields for joins
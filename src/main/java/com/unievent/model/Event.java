@@ -1,6 +1,7 @@
 package com.unievent.model;
 
 import java.sql.Timestamp;
+import java.time.LocalDateTime;
 
 public class Event {
     private int eventId;
@@ -9,8 +10,8 @@ public class Event {
     private int catId;
     private String title;
     private String description;
-    private String start;
-    private String end;
+    private LocalDateTime start;
+    private LocalDateTime end;
     private int maxAttendees;
     private String status;
     private Timestamp createdAt;
@@ -73,19 +74,19 @@ public class Event {
         this.description = description;
     }
 
-    public String getStart() {
+    public LocalDateTime getStart() {
         return start;
     }
 
-    public void setStart(String start) {
+    public void setStart(LocalDateTime start) {
         this.start = start;
     }
 
-    public String getEnd() {
+    public LocalDateTime getEnd() {
         return end;
     }
 
-    public void setEnd(String end) {
+    public void setEnd(LocalDateTime end) {
         this.end = end;
     }
 
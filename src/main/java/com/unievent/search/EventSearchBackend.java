@@ -0,0 +1,59 @@
+package com.unievent.search;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Pluggable keyword search over events, used by EventAdvancedDAO instead of LIKE '%kw%'.
+ * Implementations only need to answer "which event ids match, best first";
+ * the DAO still loads the rows themselves from the database.
+ */
+public interface EventSearchBackend {
+
+    // False until the first full build has finished; callers fall back to SQL meanwhile
+    boolean isReady();
+
+    // Call before scanning the database for rebuild(): changes made during the scan are kept
+    default void beginRebuild() {
+    }
+
+    // The scan failed and no rebuild() follows
+    default void abortRebuild() {
+    }
+
+    // Replace the whole index (startup and periodic resync)
+    void rebuild(List<SearchableEvent> events);
+
+    // Add or replace one event (e.g. after createEvent)
+    void upsert(SearchableEvent event);
+
+    // Status change after approval/rejection; only APPROVED events are returned by search()
+    void updateStatus(int eventId, String status);
+
+    // Same status for many events (bulk approval); implementations may apply it under one lock
+    default void updateStatuses(Collection<Integer> eventIds, String status) {
+        for (int eventId : eventIds) {
+            updateStatus(eventId, status);
+        }
+    }
+
+    void remove(int eventId);
+
+    // False when the query has no terms this backend indexes (e.g. only "C" or "C++");
+    // callers search with SQL LIKE instead of trusting an empty result
+    default boolean canSearch(String query) {
+        return true;
+    }
+
+    // Words of the query this backend cannot answer exactly (too short, or with punctuation such as
+    // "C++"); callers match them as substrings with SQL LIKE on top of the ids from search()
+    default List<String> unindexedTerms(String query) {
+        return List.of();
+    }
+
+    /**
+     * Ranked ids of APPROVED events matching every query term (terms also match as prefixes).
+     * categoryId/venueId may be null or <= 0 for "any".
+     */
+    List<Integer> search(String query, Integer categoryId, Integer venueId, int limit);
+}
@@ -0,0 +1,329 @@
+package com.unievent.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Default search backend: an in-process inverted index over event title and description.
+ *
+ * Terms are kept in a sorted map so a query term also matches every indexed term it is a
+ * prefix of ("conf" finds "conference"). Scoring is a simple TF-IDF with title hits
+ * weighted above description hits and exact matches above prefix matches.
+ *
+ * A rebuild scans the database off to the side. Changes made while it scans (upsert, status,
+ * remove) go to the live index and are also logged, then replayed onto the new one before the
+ * swap, so an event approved mid-scan is not lost until the next resync.
+ */
+public class InMemoryEventIndex implements EventSearchBackend {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MIN_PREFIX_LENGTH = 3; // shorter query terms only match exactly
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    // One change to the index, replayable onto a freshly built one (callers hold the write lock)
+    @FunctionalInterface
+    private interface Change {
+        void apply(TreeMap<String, Map<Integer, Integer>> postings, Map<Integer, Doc> docs);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> (eventId -> packed term frequency: title count in the high 16 bits, description count low)
+    private TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private Map<Integer, Doc> docs = new HashMap<>();
+    private volatile boolean ready = false;
+
+    // Guarded by the write lock: scans in progress, and the changes made since the first began
+    private int rebuildsInProgress = 0;
+    private List<Change> changesDuringRebuild = new ArrayList<>();
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildsInProgress++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            endRebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void rebuild(List<SearchableEvent> events) {
+        // Build off to the side, then swap, so searches keep running during a rebuild
+        TreeMap<String, Map<Integer, Integer>> newPostings = new TreeMap<>();
+        Map<Integer, Doc> newDocs = new HashMap<>(events.size() * 2);
+        for (SearchableEvent event : events) {
+            addDoc(newPostings, newDocs, event);
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Changes are final states (row contents, status), so replaying one the scan already saw is harmless
+            for (Change change : changesDuringRebuild) {
+                change.apply(newPostings, newDocs);
+            }
+            if (rebuildsInProgress > 0) {
+                endRebuild();
+            }
+            postings = newPostings;
+            docs = newDocs;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void upsert(SearchableEvent event) {
+        apply((p, d) -> {
+            removeDoc(p, d, event.getEventId());
+            addDoc(p, d, event);
+        });
+    }
+
+    @Override
+    public void updateStatus(int eventId, String status) {
+        apply((p, d) -> setStatus(d, eventId, status));
+    }
+
+    @Override
+    public void updateStatuses(Collection<Integer> eventIds, String status) {
+        List<Integer> ids = new ArrayList<>(eventIds);
+        apply((p, d) -> {
+            for (int eventId : ids) {
+                setStatus(d, eventId, status);
+            }
+        });
+    }
+
+    @Override
+    public void remove(int eventId) {
+        apply((p, d) -> removeDoc(p, d, eventId));
+    }
+
+    // Apply to the live index, and remember it for a rebuild that is scanning right now
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            change.apply(postings, docs);
+            if (rebuildsInProgress > 0) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void endRebuild() {
+        if (--rebuildsInProgress == 0) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public boolean canSearch(String query) {
+        return !tokenize(query).isEmpty();
+    }
+
+    // A word is answered exactly only if it is a single indexed term: "C" and "C++" are not,
+    // and neither is "node.js" (the index sees "node" and "js" but not the dot between them)
+    @Override
+    public List<String> unindexedTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        for (String word : query.trim().split("\\s+")) {
+            if (!word.isEmpty() && !tokenize(word).equals(List.of(word.toLowerCase(Locale.ROOT)))) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    @Override
+    public List<Integer> search(String query, Integer categoryId, Integer venueId, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            double docCount = Math.max(1, docs.size());
+
+            for (String queryTerm : queryTerms) {
+                Map<Integer, Double> termScores = new HashMap<>();
+
+                for (Map.Entry<String, Map<Integer, Integer>> entry : matchingTerms(queryTerm).entrySet()) {
+                    Map<Integer, Integer> postingList = entry.getValue();
+                    double idf = Math.log(1 + docCount / postingList.size());
+                    double weight = entry.getKey().equals(queryTerm) ? idf : idf * PREFIX_MATCH_WEIGHT;
+
+                    for (Map.Entry<Integer, Integer> posting : postingList.entrySet()) {
+                        int eventId = posting.getKey();
+                        // Every term must match: only keep candidates that survived the previous terms
+                        if (scores != null && !scores.containsKey(eventId)) continue;
+                        if (!matchesFilters(docs.get(eventId), categoryId, venueId)) continue;
+
+                        int tf = posting.getValue();
+                        double termFrequency = TITLE_WEIGHT * (tf >>> 16) + (tf & 0xFFFF);
+                        termScores.merge(eventId, weight * termFrequency, Double::sum);
+                    }
+                }
+
+                if (scores != null) {
+                    for (Map.Entry<Integer, Double> e : termScores.entrySet()) {
+                        e.setValue(e.getValue() + scores.get(e.getKey()));
+                    }
+                }
+                scores = termScores;
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        // Best score first; ties go to the newer (higher) event id
+        ranked.sort((a, b) -> {
+            int byScore = Double.compare(b.getValue(), a.getValue());
+            return byScore != 0 ? byScore : Integer.compare(b.getKey(), a.getKey());
+        });
+
+        List<Integer> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lowercased words of at least MIN_TERM_LENGTH letters/digits
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // ==================== INTERNALS (callers hold the lock) ====================
+
+    private NavigableMap<String, Map<Integer, Integer>> matchingTerms(String queryTerm) {
+        if (queryTerm.length() < MIN_PREFIX_LENGTH) {
+            Map<Integer, Integer> exact = postings.get(queryTerm);
+            TreeMap<String, Map<Integer, Integer>> single = new TreeMap<>();
+            if (exact != null) {
+                single.put(queryTerm, exact);
+            }
+            return single;
+        }
+        return postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+    }
+
+    private static boolean matchesFilters(Doc doc, Integer categoryId, Integer venueId) {
+        if (doc == null || !"APPROVED".equals(doc.status)) return false;
+        if (categoryId != null && categoryId > 0 && doc.catId != categoryId) return false;
+        if (venueId != null && venueId > 0 && doc.venueId != venueId) return false;
+        return true;
+    }
+
+    private static void addDoc(TreeMap<String, Map<Integer, Integer>> postings, Map<Integer, Doc> docs,
+                               SearchableEvent event) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String t : tokenize(event.getTitle())) {
+            frequencies.merge(t, 1 << 16, Integer::sum);
+        }
+        for (String t : tokenize(event.getDescription())) {
+            frequencies.merge(t, 1, (a, b) -> (a & 0xFFFF) == 0xFFFF ? a : a + b); // saturate the low half
+        }
+
+        for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(event.getEventId(), e.getValue());
+        }
+
+        Doc doc = new Doc();
+        doc.catId = event.getCatId();
+        doc.venueId = event.getVenueId();
+        doc.status = event.getStatus();
+        doc.terms = frequencies.keySet().toArray(new String[0]);
+        docs.put(event.getEventId(), doc);
+    }
+
+    private static void setStatus(Map<Integer, Doc> docs, int eventId, String status) {
+        Doc doc = docs.get(eventId);
+        if (doc != null) {
+            doc.status = status;
+        }
+    }
+
+    private static void removeDoc(TreeMap<String, Map<Integer, Integer>> postings, Map<Integer, Doc> docs,
+                                  int eventId) {
+        Doc old = docs.remove(eventId);
+        if (old == null) {
+            return;
+        }
+        for (String term : old.terms) {
+            Map<Integer, Integer> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(eventId);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static class Doc {
+        int catId;
+        int venueId;
+        volatile String status;
+        String[] terms;
+    }
+}
@@ -0,0 +1,46 @@
+package com.unievent.search;
+
+/**
+ * The subset of an Event that the search index needs.
+ */
+public class SearchableEvent {
+    private final int eventId;
+    private final String title;
+    private final String description;
+    private final int catId;
+    private final int venueId;
+    private final String status;
+
+    public SearchableEvent(int eventId, String title, String description, int catId, int venueId, String status) {
+        this.eventId = eventId;
+        this.title = title;
+        this.description = description;
+        this.catId = catId;
+        this.venueId = venueId;
+        this.status = status;
+    }
+
+    public int getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getCatId() {
+        return catId;
+    }
+
+    public int getVenueId() {
+        return venueId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
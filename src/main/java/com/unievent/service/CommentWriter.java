@@ -0,0 +1,444 @@
+package com.unievent.service;
+
+import com.unievent.metrics.LatencyHistogram;
+import com.unievent.model.Comment;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind queue for comments.
+ *
+ * addComment() only enqueues; a single writer thread flushes the queue with one JDBC batch
+ * per transaction when either batchSize comments are waiting or maxDelayMillis has passed since
+ * the oldest one arrived. The bounded queue is the backpressure: producers block up to
+ * offerTimeoutMillis and are told to write synchronously if it is still full.
+ *
+ * If a batch fails, its comments are written one by one so a single bad row cannot take the others
+ * down. Comments that still fail (database down, or the row itself is bad) and comments left over
+ * at shutdown are appended to a local spool file; they stay visible through pendingFor() until
+ * written. The spool is replayed on start() and after any flush that reaches the database; a row
+ * that fails MAX_REPLAYS replays while the database is up is moved to a dead-letter file instead.
+ */
+public class CommentWriter {
+
+    /** Inserts the whole batch in one transaction, or throws and inserts nothing. */
+    @FunctionalInterface
+    public interface BatchInserter {
+        void insert(List<Comment> batch) throws SQLException;
+    }
+
+    private static final int MAX_REPLAYS = 3;
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final BatchInserter inserter;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final long offerTimeoutMillis;
+    private final Path spoolFile;
+    private final Path deadLetterFile;
+
+    private final ArrayBlockingQueue<Comment> queue;
+    // eventId -> comments accepted but not yet committed (read-your-writes)
+    private final ConcurrentHashMap<Integer, ConcurrentLinkedQueue<Comment>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final LatencyHistogram flushTimes = new LatencyHistogram();
+
+    private volatile boolean running = false;
+    private volatile boolean spoolWaiting = false;
+    private Thread worker;
+    // Locks, not synchronized: both are held across JDBC or file I/O. Separate so that stop(),
+    // waiting for the worker, never blocks the worker's own spool().
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private final ReentrantLock spoolLock = new ReentrantLock();
+
+    public CommentWriter(BatchInserter inserter, int capacity, int batchSize,
+                         long maxDelayMillis, long offerTimeoutMillis, Path spoolFile) {
+        this.inserter = inserter;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.spoolFile = spoolFile;
+        this.deadLetterFile = spoolFile.resolveSibling(spoolFile.getFileName() + ".dead");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== PRODUCER SIDE ====================
+
+    /**
+     * Queues the comment. Returns false if the writer is stopped or the queue stayed full
+     * for offerTimeoutMillis; the caller should then insert synchronously.
+     */
+    public boolean submit(Comment comment) {
+        if (!running) {
+            return false;
+        }
+        ConcurrentLinkedQueue<Comment> forEvent =
+                pending.computeIfAbsent(comment.getEventId(), k -> new ConcurrentLinkedQueue<>());
+        forEvent.add(comment);
+        try {
+            if (queue.offer(comment, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        forEvent.remove(comment);
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    // Comments by this user on this event that are queued but not yet in the database, newest first
+    public List<Comment> pendingFor(int eventId, int userId) {
+        List<Comment> mine = new ArrayList<>();
+        ConcurrentLinkedQueue<Comment> forEvent = pending.get(eventId);
+        if (forEvent != null) {
+            for (Comment c : forEvent) {
+                if (c.getUserId() == userId) {
+                    mine.add(0, c);
+                }
+            }
+        }
+        return mine;
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (running) return;
+            running = true;
+            replaySpool(false);
+            worker = new Thread(this::runWorker, "unievent-comment-writer");
+            worker.setDaemon(true);
+            worker.start();
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    // Stop accepting, flush what is queued, spool whatever could not be flushed in time
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            if (!running) return;
+            running = false;
+            try {
+                worker.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker.interrupt();
+            List<Comment> leftovers = new ArrayList<>();
+            queue.drainTo(leftovers);
+            if (!leftovers.isEmpty()) {
+                spoolNew(leftovers);
+            }
+            worker = null;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    // ==================== WRITER THREAD ====================
+
+    private void runWorker() {
+        List<Comment> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Comment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Size-or-time trigger: keep collecting until the batch is full or the oldest is due
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+                    Comment next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) spoolNew(batch);
+                return;
+            }
+
+            if (flush(batch) && spoolWaiting) {
+                replaySpool(true); // The database is taking writes again
+            }
+            batch.clear();
+        }
+    }
+
+    // Spools the rows that could not be written; true if any row reached the database
+    private boolean flush(List<Comment> batch) {
+        List<Comment> failed = write(batch);
+        if (!failed.isEmpty()) {
+            spoolNew(failed);
+        }
+        return failed.size() < batch.size();
+    }
+
+    // Writes the batch, falling back to one row at a time if it fails. Returns the rows that failed on their own.
+    private List<Comment> write(List<Comment> batch) {
+        long startNanos = System.nanoTime();
+        try {
+            inserter.insert(batch);
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+            flushTimes.recordNanos(System.nanoTime() - startNanos);
+            forget(batch);
+            return List.of();
+        } catch (SQLException | RuntimeException e) {
+            if (batch.size() == 1) {
+                System.err.println("❌ Comment insert failed.");
+                e.printStackTrace();
+                return batch;
+            }
+        }
+        // One bad row (unknown event, content too long) must not fail the others: write them one by one
+        List<Comment> failed = new ArrayList<>();
+        Exception lastError = null;
+        for (Comment c : batch) {
+            try {
+                inserter.insert(List.of(c));
+                written.incrementAndGet();
+                forget(List.of(c));
+            } catch (SQLException | RuntimeException e) {
+                failed.add(c);
+                lastError = e;
+            }
+        }
+        batches.incrementAndGet();
+        flushTimes.recordNanos(System.nanoTime() - startNanos);
+        if (lastError != null) {
+            System.err.println("❌ " + failed.size() + " of " + batch.size() + " comment(s) failed on their own.");
+            lastError.printStackTrace();
+        }
+        return failed;
+    }
+
+    private void forget(List<Comment> batch) {
+        for (Comment c : batch) {
+            ConcurrentLinkedQueue<Comment> forEvent = pending.get(c.getEventId());
+            if (forEvent != null) {
+                forEvent.remove(c);
+            }
+        }
+    }
+
+    // A replayed row is a copy read back from the spool: drop the pending original it stands for
+    private void forgetOriginal(Comment copy) {
+        ConcurrentLinkedQueue<Comment> forEvent = pending.get(copy.getEventId());
+        if (forEvent == null) return;
+        for (Comment c : forEvent) {
+            if (c.getUserId() == copy.getUserId()
+                    && c.getTimestamp().getTime() == copy.getTimestamp().getTime()
+                    && Objects.equals(contentOf(c), contentOf(copy))) {
+                forEvent.remove(c);
+                return;
+            }
+        }
+    }
+
+    private static String contentOf(Comment c) {
+        return c.getContent() == null ? "" : c.getContent();
+    }
+
+    // ==================== DURABLE FALLBACK ====================
+
+    // A spooled comment and how many replays it has already failed while the database was up
+    private static final class Spooled {
+        final Comment comment;
+        final int replays;
+
+        Spooled(Comment comment, int replays) {
+            this.comment = comment;
+            this.replays = replays;
+        }
+    }
+
+    private void spoolNew(List<Comment> comments) {
+        List<Spooled> toSpool = new ArrayList<>(comments.size());
+        for (Comment c : comments) {
+            toSpool.add(new Spooled(c, 0));
+        }
+        spool(toSpool);
+    }
+
+    private void spool(List<Spooled> comments) {
+        if (append(spoolFile, comments)) {
+            spooled.addAndGet(comments.size());
+            spoolWaiting = true;
+        } else {
+            System.err.println("❌ Could not spool " + comments.size() + " comment(s); they are lost.");
+            for (Spooled s : comments) {
+                forgetOriginal(s.comment);
+            }
+        }
+    }
+
+    private void deadLetter(List<Spooled> comments) {
+        if (append(deadLetterFile, comments)) {
+            deadLettered.addAndGet(comments.size());
+            System.err.println("❌ " + comments.size() + " comment(s) kept failing; moved to " + deadLetterFile);
+        } else {
+            System.err.println("❌ Could not dead-letter " + comments.size() + " comment(s); they are lost.");
+        }
+        for (Spooled s : comments) {
+            forgetOriginal(s.comment);
+        }
+    }
+
+    // One line per comment: userId, eventId, postedAt millis, Base64(content), failed replays
+    private boolean append(Path file, List<Spooled> comments) {
+        spoolLock.lock();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Spooled s : comments) {
+                Comment c = s.comment;
+                String content = contentOf(c);
+                out.write(c.getUserId() + "\t" + c.getEventId() + "\t" + c.getTimestamp().getTime() + "\t"
+                        + Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8))
+                        + "\t" + s.replays);
+                out.newLine();
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            spoolLock.unlock();
+        }
+    }
+
+    /**
+     * Writes the spool back, one batch at a time with the same per-row fallback as flush().
+     * Rows that fail again are re-spooled with one more failed replay, or dead-lettered after
+     * MAX_REPLAYS. A failure only counts against the row if the database is known to be up
+     * (databaseUp, or another row of this replay got through); otherwise it is the outage again.
+     * Called from start() before the worker exists, then only by the worker.
+     */
+    private void replaySpool(boolean databaseUp) {
+        List<Spooled> replay = new ArrayList<>();
+        spoolLock.lock();
+        try {
+            spoolWaiting = false;
+            if (!Files.exists(spoolFile)) return;
+            for (String line : Files.readAllLines(spoolFile, StandardCharsets.UTF_8)) {
+                String[] f = line.split("\t", 5);
+                if (f.length < 4) continue;
+                Comment c = new Comment();
+                c.setUserId(Integer.parseInt(f[0]));
+                c.setEventId(Integer.parseInt(f[1]));
+                c.setTimestamp(new Timestamp(Long.parseLong(f[2])));
+                c.setContent(new String(Base64.getDecoder().decode(f[3]), StandardCharsets.UTF_8));
+                replay.add(new Spooled(c, f.length == 5 ? Integer.parseInt(f[4]) : 0));
+            }
+            Files.delete(spoolFile);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Could not replay comment spool " + spoolFile);
+            e.printStackTrace();
+            return;
+        } finally {
+            spoolLock.unlock();
+        }
+
+        // Write them straight away in batches; the queue may be too small for a big spool
+        List<Spooled> failed = new ArrayList<>();
+        boolean anyWritten = false;
+        for (int i = 0; i < replay.size(); i += batchSize) {
+            List<Spooled> chunk = replay.subList(i, Math.min(i + batchSize, replay.size()));
+            List<Comment> comments = new ArrayList<>(chunk.size());
+            for (Spooled s : chunk) {
+                comments.add(s.comment);
+            }
+            List<Comment> chunkFailed = write(comments);
+            for (Spooled s : chunk) {
+                if (chunkFailed.contains(s.comment)) {
+                    failed.add(s);
+                } else {
+                    anyWritten = true;
+                    forgetOriginal(s.comment);
+                }
+            }
+        }
+        if (failed.isEmpty()) return;
+
+        if (!databaseUp && !anyWritten) {
+            spool(failed); // Nothing got through: still down, the rows are not to blame
+            return;
+        }
+        List<Spooled> again = new ArrayList<>();
+        List<Spooled> dead = new ArrayList<>();
+        for (Spooled s : failed) {
+            if (s.replays + 1 >= MAX_REPLAYS) {
+                dead.add(s);
+            } else {
+                again.add(new Spooled(s.comment, s.replays + 1));
+            }
+        }
+        if (!again.isEmpty()) {
+            spool(again); // Tried again after the next flush that reaches the database
+        }
+        if (!dead.isEmpty()) {
+            deadLetter(dead);
+        }
+    }
+
+    // ==================== METRICS ====================
+
+    public WriterStats getStats() {
+        WriterStats stats = new WriterStats();
+        stats.queueDepth = queue.size();
+        stats.accepted = accepted.get();
+        stats.written = written.get();
+        stats.batches = batches.get();
+        stats.spooled = spooled.get();
+        stats.deadLettered = deadLettered.get();
+        stats.rejected = rejected.get();
+        stats.flushTime = flushTimes.snapshot();
+        return stats;
+    }
+
+    // Inner class for writer metrics
+    public static class WriterStats {
+        public int queueDepth;
+        public long accepted;
+        public long written;
+        public long batches;
+        public long spooled;
+        public long deadLettered; // failed MAX_REPLAYS replays on their own; left for an operator
+        public long rejected; // queue full: caller fell back to a synchronous insert
+        public LatencyHistogram.Snapshot flushTime;
+    }
+}
@@ -0,0 +1,326 @@
+package com.unievent.service;
+
+import com.unievent.metrics.LatencyHistogram;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Group-commit pipeline for donations with client idempotency keys.
+ *
+ * submit() queues the donation and returns a future; a single writer thread commits waiting
+ * donations together, one transaction per batch, when batchSize are waiting or maxDelayMillis has
+ * passed since the first arrived. Each future completes with "ACCEPTED", "DUPLICATE" or "ERROR"
+ * only after its batch has committed (or failed), so an answer is never given for unsaved money.
+ *
+ * Duplicates (a client retrying with the same key) are caught in three places: a bounded LRU of
+ * recently committed keys, the map of keys still in flight, and finally the database (the
+ * BatchWriter checks a unique index), which also covers other app instances and restarts.
+ * Donations without a key are never deduplicated.
+ */
+public class DonationIngestor {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String ERROR = "ERROR";
+
+    /** One queued donation; the writer reports its outcome through the future. */
+    public static class Request {
+        private final int userId;
+        private final int eventId;
+        private final BigDecimal amount;
+        private final String idempotencyKey;
+        private final long submittedNanos = System.nanoTime();
+        private final CompletableFuture<String> outcome = new CompletableFuture<>();
+
+        public Request(int userId, int eventId, BigDecimal amount, String idempotencyKey) {
+            this.userId = userId;
+            this.eventId = eventId;
+            this.amount = amount;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public int getEventId() {
+            return eventId;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        public CompletableFuture<String> getOutcome() {
+            return outcome;
+        }
+
+        // Keys are scoped to the donor, like the (user_id, idempotency_key) unique index
+        String dedupKey() {
+            return idempotencyKey == null ? null : userId + ":" + idempotencyKey;
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction and returns ACCEPTED or DUPLICATE per request, in order.
+     * Throws and writes nothing if the transaction fails.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        List<String> write(List<Request> batch) throws SQLException;
+    }
+
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final BatchWriter writer;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final ArrayBlockingQueue<Request> queue;
+
+    // Recently committed keys (LRU), and keys queued or being written
+    private final Map<String, Boolean> recentKeys;
+    private final ConcurrentHashMap<String, Request> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong duplicatesInMemory = new AtomicLong();
+    private final AtomicLong duplicatesInDatabase = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final LatencyHistogram commitLatency = new LatencyHistogram(); // submit -> committed, per donation
+    private final LatencyHistogram batchTimes = new LatencyHistogram();    // one transaction
+
+    private volatile boolean running = false;
+    private Thread worker;
+    private final ReentrantLock lifecycleLock = new ReentrantLock(); // held while joining the worker
+
+    public DonationIngestor(BatchWriter writer, int capacity, int batchSize, long maxDelayMillis, int keyCacheSize) {
+        this.writer = writer;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.recentKeys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > keyCacheSize;
+            }
+        };
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // ==================== PRODUCER SIDE ====================
+
+    /**
+     * Queues the donation. Returns null if the ingestor is stopped or the queue is full; the
+     * caller should then write it synchronously with the BatchWriter.
+     */
+    public CompletableFuture<String> submit(Request request) {
+        if (!running) {
+            return null;
+        }
+        String key = request.dedupKey();
+        if (key != null) {
+            if (isRecent(key)) {
+                duplicatesInMemory.incrementAndGet();
+                return CompletableFuture.completedFuture(DUPLICATE);
+            }
+            Request first = inFlight.putIfAbsent(key, request);
+            if (first != null) {
+                // Retry of a donation still in the pipeline: it is a duplicate unless the original fails
+                duplicatesInMemory.incrementAndGet();
+                return first.outcome.thenApply(o -> ERROR.equals(o) ? ERROR : DUPLICATE);
+            }
+        }
+        if (queue.offer(request)) {
+            return request.outcome;
+        }
+        if (key != null) {
+            inFlight.remove(key, request);
+        }
+        rejected.incrementAndGet();
+        return null;
+    }
+
+    // Outcome of a synchronous write done by the caller (fallback path), so its key is remembered too
+    public void recordDirect(Request request, String outcome) {
+        complete(request, outcome);
+    }
+
+    private boolean isRecent(String key) {
+        synchronized (recentKeys) {
+            return recentKeys.containsKey(key);
+        }
+    }
+
+    private void remember(String key) {
+        synchronized (recentKeys) {
+            recentKeys.put(key, Boolean.TRUE);
+        }
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (running) return;
+            running = true;
+            worker = new Thread(this::runWorker, "unievent-donation-ingestor");
+            worker.setDaemon(true);
+            worker.start();
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    // Stop accepting and commit what is queued; anything left after the timeout is answered ERROR
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            if (!running) return;
+            running = false;
+            try {
+                worker.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker.interrupt();
+            List<Request> leftovers = new ArrayList<>();
+            queue.drainTo(leftovers);
+            for (Request r : leftovers) {
+                complete(r, ERROR);
+            }
+            worker = null;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    // ==================== WRITER THREAD ====================
+
+    private void runWorker() {
+        List<Request> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Request first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Size-or-time trigger, as in CommentWriter; the delay is short because callers are waiting
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                for (Request r : batch) {
+                    complete(r, ERROR);
+                }
+                return;
+            }
+
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Request> batch) {
+        long startNanos = System.nanoTime();
+        try {
+            completeAll(batch, writer.write(batch));
+            batches.incrementAndGet();
+            batchTimes.recordNanos(System.nanoTime() - startNanos);
+            return;
+        } catch (SQLException | RuntimeException e) {
+            if (batch.size() == 1) {
+                e.printStackTrace();
+                complete(batch.get(0), ERROR);
+                return;
+            }
+        }
+        // One bad row (or a key race with another instance) must not fail the others: write them one by one
+        for (Request r : batch) {
+            try {
+                completeAll(List.of(r), writer.write(List.of(r)));
+            } catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+                complete(r, ERROR);
+            }
+        }
+    }
+
+    private void completeAll(List<Request> batch, List<String> outcomes) {
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), i < outcomes.size() ? outcomes.get(i) : ERROR);
+        }
+    }
+
+    private void complete(Request r, String outcome) {
+        if (ACCEPTED.equals(outcome)) {
+            accepted.incrementAndGet();
+            commitLatency.recordNanos(System.nanoTime() - r.submittedNanos);
+        } else if (DUPLICATE.equals(outcome)) {
+            duplicatesInDatabase.incrementAndGet();
+        } else {
+            errors.incrementAndGet();
+        }
+        String key = r.dedupKey();
+        if (key != null) {
+            if (!ERROR.equals(outcome)) {
+                remember(key); // Before leaving inFlight, so a retry never slips between the two
+            }
+            inFlight.remove(key, r);
+        }
+        r.outcome.complete(outcome);
+    }
+
+    // ==================== METRICS ====================
+
+    public IngestStats getStats() {
+        IngestStats stats = new IngestStats();
+        stats.queueDepth = queue.size();
+        stats.accepted = accepted.get();
+        stats.duplicatesInMemory = duplicatesInMemory.get();
+        stats.duplicatesInDatabase = duplicatesInDatabase.get();
+        stats.errors = errors.get();
+        stats.batches = batches.get();
+        stats.rejected = rejected.get();
+        stats.commitLatency = commitLatency.snapshot();
+        stats.batchTime = batchTimes.snapshot();
+        return stats;
+    }
+
+    // Inner class for ingestion metrics
+    public static class IngestStats {
+        public int queueDepth;
+        public long accepted;
+        public long duplicatesInMemory;   // answered from the key LRU or an in-flight original
+        public long duplicatesInDatabase; // caught by the unique index lookup
+        public long errors;
+        public long batches;
+        public long rejected;             // queue full or stopped: caller wrote synchronously
+        public LatencyHistogram.Snapshot commitLatency;
+        public LatencyHistogram.Snapshot batchTime;
+    }
+}
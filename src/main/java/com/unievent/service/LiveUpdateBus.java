@@ -0,0 +1,248 @@
+package com.unievent.service;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-process fan-out of live updates (new comments, attendee counts) to subscribers of an event.
+ *
+ * publish() never blocks the caller: fan-out runs on a few single-threaded dispatch lanes, and each
+ * subscriber has a bounded buffer of ready-to-send Server-Sent Events frames. Every event maps to
+ * one lane, so its frames reach subscribers in the order they were published. A subscriber whose
+ * buffer is full is too slow to keep up and is dropped (the browser's EventSource reconnects
+ * and refetches). Best effort: if the dispatcher itself is saturated, the update is discarded.
+ */
+public class LiveUpdateBus {
+
+    /** One subscriber's buffer. The transport drains it from its onData callback. */
+    public static class Subscription {
+        private final int eventId;
+        private final ArrayBlockingQueue<String> buffer;
+        private final Runnable onData;
+        private final Runnable onDropped;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Subscription(int eventId, int bufferSize, Runnable onData, Runnable onDropped) {
+            this.eventId = eventId;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            this.onData = onData;
+            this.onDropped = onDropped;
+        }
+
+        public int getEventId() {
+            return eventId;
+        }
+
+        // Next frame to write, or null when the buffer is empty
+        public String poll() {
+            return buffer.poll();
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+    }
+
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final ThreadPoolExecutor[] lanes;
+
+    private final ConcurrentHashMap<Integer, Set<Subscription>> byEvent = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public LiveUpdateBus(int maxSubscribers, int bufferSize, int dispatchThreads, int dispatchQueue) {
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.lanes = new ThreadPoolExecutor[Math.max(1, dispatchThreads)];
+        int laneQueue = Math.max(1, dispatchQueue / lanes.length);
+        for (int i = 0; i < lanes.length; i++) {
+            String name = "unievent-live-updates-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneQueue), r -> {
+                        Thread t = new Thread(r, name);
+                        t.setDaemon(true);
+                        return t;
+                    }, (r, executor) -> discarded.incrementAndGet());
+        }
+    }
+
+    // The single-threaded lane that dispatches everything for this event
+    private ThreadPoolExecutor laneOf(int eventId) {
+        return lanes[Math.floorMod(eventId, lanes.length)];
+    }
+
+    // ==================== SUBSCRIBERS ====================
+
+    /**
+     * Registers a subscriber for one event. onData runs (on a dispatcher thread) after frames
+     * were buffered; onDropped runs once if the subscriber is removed for falling behind.
+     * Returns null when the bus is at maxSubscribers.
+     */
+    public Subscription subscribe(int eventId, Runnable onData, Runnable onDropped) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            return null;
+        }
+        Subscription sub = new Subscription(eventId, bufferSize, onData, onDropped);
+        // Added inside compute(): unsubscribe() may be removing this event's (empty) set at the same time
+        byEvent.compute(eventId, (k, set) -> {
+            Set<Subscription> s = set != null ? set : ConcurrentHashMap.<Subscription>newKeySet();
+            s.add(sub);
+            return s;
+        });
+        return sub;
+    }
+
+    // Client went away (or the transport failed); safe to call more than once, true only for the first call
+    public boolean unsubscribe(Subscription sub) {
+        if (!sub.closed.compareAndSet(false, true)) return false;
+        subscribers.decrementAndGet();
+        byEvent.computeIfPresent(sub.eventId, (k, set) -> {
+            set.remove(sub);
+            return set.isEmpty() ? null : set;
+        });
+        return true;
+    }
+
+    // ==================== PUBLISHING ====================
+
+    // Lets publishers skip building a payload (or querying for it) when nobody is listening
+    public boolean hasSubscribers(int eventId) {
+        return byEvent.containsKey(eventId);
+    }
+
+    // type becomes the SSE "event:" name; jsonData must be a single-line JSON document
+    public void publish(int eventId, String type, String jsonData) {
+        if (!byEvent.containsKey(eventId)) {
+            return; // Nobody is watching this event
+        }
+        String frame = frame(type, jsonData);
+        laneOf(eventId).execute(() -> fanOut(eventId, frame));
+    }
+
+    /**
+     * Like publish(), but the payload is built on the event's lane. For state snapshots (attendee
+     * counts): the last frame delivered then carries the newest value, whichever publisher ran last.
+     */
+    public void publish(int eventId, String type, Supplier<String> jsonData) {
+        if (!byEvent.containsKey(eventId)) {
+            return;
+        }
+        laneOf(eventId).execute(() -> fanOut(eventId, frame(type, jsonData.get())));
+    }
+
+    // One frame to a single (new) subscriber, ordered with everything published for its event
+    public void sendTo(Subscription sub, String type, Supplier<String> jsonData) {
+        laneOf(sub.eventId).execute(() -> deliver(sub, frame(type, jsonData.get())));
+    }
+
+    // One SSE frame: "event:" name plus a single-line data payload
+    public static String frame(String type, String jsonData) {
+        return "event: " + type + "\ndata: " + jsonData + "\n\n";
+    }
+
+    // SSE comment line to every subscriber; keeps proxies from closing idle streams and surfaces dead sockets
+    public void heartbeat() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.execute(() -> {
+                for (Set<Subscription> set : byEvent.values()) {
+                    for (Subscription sub : set) {
+                        if (laneOf(sub.eventId) == lane) {
+                            deliver(sub, ": ping\n\n");
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private void fanOut(int eventId, String frame) {
+        Set<Subscription> set = byEvent.get(eventId);
+        if (set == null) return;
+        published.incrementAndGet();
+        for (Subscription sub : set) {
+            deliver(sub, frame);
+        }
+    }
+
+    private void deliver(Subscription sub, String frame) {
+        if (sub.isClosed()) return;
+        if (!sub.buffer.offer(frame)) {
+            // Buffer full: this consumer cannot keep up; cut it loose instead of buffering without bound
+            if (unsubscribe(sub)) {
+                dropped.incrementAndGet();
+                runQuietly(sub.onDropped);
+            }
+            return;
+        }
+        runQuietly(sub.onData);
+    }
+
+    private static void runQuietly(Runnable callback) {
+        try {
+            callback.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Escapes a string for embedding in the JSON payloads above
+    public static String quote(String s) {
+        if (s == null) return "null";
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (ch < 0x20 || ch == '\u2028' || ch == '\u2029') {
+                        sb.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        sb.append(ch);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    // ==================== LIFECYCLE & METRICS ====================
+
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdownNow();
+        }
+    }
+
+    public BusStats getStats() {
+        BusStats stats = new BusStats();
+        stats.subscribers = subscribers.get();
+        stats.eventsWatched = byEvent.size();
+        stats.published = published.get();
+        stats.discarded = discarded.get();
+        stats.droppedSubscribers = dropped.get();
+        return stats;
+    }
+
+    // Inner class for bus metrics
+    public static class BusStats {
+        public int subscribers;
+        public int eventsWatched;
+        public long published;
+        public long discarded;          // lane queue full, update not delivered
+        public long droppedSubscribers; // slow consumers cut off
+    }
+}
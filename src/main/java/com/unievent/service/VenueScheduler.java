@@ -0,0 +1,155 @@
+package com.unievent.service;
+
+import com.unievent.cache.VenueSchedule;
+import com.unievent.model.Venue;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Suggests venue/slot pairs when the organizer's first choice is taken.
+ *
+ * Feasible: capacity >= expected attendees, and the whole slot is free and inside the requested
+ * window. Ranked by earliest start, then tightest fit (fewest spare seats), then venue id, but
+ * every fitting venue is offered once before any venue is offered a second, later slot.
+ *
+ * Works only from memory: venues come sorted by capacity (recomputed when the venue cache reloads)
+ * and free time comes from VenueSchedule. Each candidate venue costs one ordered-set seek, and the
+ * top K are merged with a heap, so hundreds of venues and a year of bookings stay well under 20ms.
+ */
+public class VenueScheduler {
+
+    /** One suggestion: book this venue from start to end. */
+    public static class Suggestion {
+        private final Venue venue;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Suggestion(Venue venue, LocalDateTime start, LocalDateTime end) {
+            this.venue = venue;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Venue getVenue() {
+            return venue;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+
+    private static class Candidate {
+        final Venue venue;
+        final long startSec;
+
+        Candidate(Venue venue, long startSec) {
+            this.venue = venue;
+            this.startSec = startSec;
+        }
+    }
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingLong((Candidate c) -> c.startSec)
+            .thenComparingInt(c -> c.venue.getCapacity())
+            .thenComparingInt(c -> c.venue.getVenueId());
+
+    private final VenueSchedule schedule;
+
+    // Venues by capacity, rebuilt when the cached venue list changes (ReferenceCache hands out a new list on reload)
+    private static class CapacityIndex {
+        final List<Venue> source;
+        final Venue[] sorted;
+
+        CapacityIndex(List<Venue> source, Venue[] sorted) {
+            this.source = source;
+            this.sorted = sorted;
+        }
+    }
+
+    private volatile CapacityIndex capacityIndex = new CapacityIndex(null, new Venue[0]);
+
+    public VenueScheduler(VenueSchedule schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * Top k (venue, slot) pairs for an event of durationMinutes with expectedAttendees, starting no
+     * earlier than windowStart and ending no later than windowEnd. Each fitting venue's earliest slot
+     * comes first, in ranking order; later slots of venues already offered fill the rest only when
+     * fewer than k venues fit. Empty while the schedule is still building.
+     */
+    public List<Suggestion> suggest(List<Venue> venues, LocalDateTime windowStart, LocalDateTime windowEnd,
+                                    long durationMinutes, int expectedAttendees, int k) {
+        List<Suggestion> result = new ArrayList<>();
+        long duration = durationMinutes * 60;
+        long from = VenueSchedule.toSeconds(windowStart);
+        long lastStart = VenueSchedule.toSeconds(windowEnd) - duration;
+        if (!schedule.isReady() || k <= 0 || duration <= 0 || lastStart < from) {
+            return result;
+        }
+
+        Venue[] sorted = sortedByCapacity(venues);
+        int firstFit = firstWithCapacity(sorted, expectedAttendees);
+
+        return schedule.withReadLock(() -> {
+            // One candidate per big-enough venue: its earliest free slot in the window
+            PriorityQueue<Candidate> heap = new PriorityQueue<>(RANKING);
+            for (int i = firstFit; i < sorted.length; i++) {
+                long t = schedule.firstFreeSecond(sorted[i].getVenueId(), from, duration, lastStart);
+                if (t >= 0) {
+                    heap.add(new Candidate(sorted[i], t));
+                }
+            }
+
+            // First pass: one slot per venue. A picked venue's next slot waits in the second heap,
+            // which is only drawn from (and refilled) once every venue has been offered.
+            PriorityQueue<Candidate> repeats = new PriorityQueue<>(RANKING);
+            while (result.size() < k && !(heap.isEmpty() && repeats.isEmpty())) {
+                Candidate best = heap.isEmpty() ? repeats.poll() : heap.poll();
+                long start = best.startSec;
+                result.add(new Suggestion(best.venue, VenueSchedule.fromSeconds(start),
+                        VenueSchedule.fromSeconds(start + duration)));
+                long next = schedule.firstFreeSecond(best.venue.getVenueId(), start + duration, duration, lastStart);
+                if (next >= 0) {
+                    repeats.add(new Candidate(best.venue, next));
+                }
+            }
+            return result;
+        });
+    }
+
+    private Venue[] sortedByCapacity(List<Venue> venues) {
+        CapacityIndex index = capacityIndex;
+        if (index.source != venues) {
+            Venue[] sorted = venues.toArray(new Venue[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(Venue::getCapacity).thenComparingInt(Venue::getVenueId));
+            index = new CapacityIndex(venues, sorted);
+            capacityIndex = index;
+        }
+        return index.sorted;
+    }
+
+    // Index of the first venue with capacity >= needed (binary search)
+    private static int firstWithCapacity(Venue[] sorted, int needed) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].getCapacity() < needed) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,244 @@
+package com.unievent.service;
+
+import com.unievent.metrics.LatencyHistogram;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Promotes waitlisted RSVPs to GOING as soon as seats free up.
+ *
+ * The database (Attends rows with rsvp_status = 'WAITLISTED', oldest rsvp_date first) is the
+ * source of truth; this class keeps a per-event priority-queue mirror for positions and depth
+ * metrics, and a single worker thread that turns "a seat was freed" signals into promotions.
+ * Signals arriving together are coalesced so a burst of cancellations costs one transaction
+ * per event rather than one per cancellation.
+ *
+ * The DAO hands a released seat to the head of the queue inside the transaction that frees it
+ * and reports that through promoted(); the worker is the backstop for seats freed any other way.
+ */
+public class WaitlistEngine {
+
+    /** Promotes up to maxSeats waitlisted users of the event in one transaction; returns their ids in order. */
+    @FunctionalInterface
+    public interface Promoter {
+        List<Integer> promote(int eventId, int maxSeats) throws SQLException;
+    }
+
+    /** Notified after promotions commit (e.g. to push "you're in" messages). */
+    @FunctionalInterface
+    public interface PromotionListener {
+        void onPromoted(int eventId, List<Integer> userIds);
+    }
+
+    private static final int MAX_PROMOTIONS_PER_BATCH = 100;
+
+    private final Promoter promoter;
+    private final List<PromotionListener> listeners = new CopyOnWriteArrayList<>();
+
+    // eventId -> waiting users, oldest first
+    private final ConcurrentHashMap<Integer, PriorityQueue<Waiter>> queues = new ConcurrentHashMap<>();
+
+    // eventId -> time the first unprocessed signal arrived (nanoTime), coalesces bursts
+    private final ConcurrentHashMap<Integer, Long> pendingSignals = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<Integer> wakeups = new LinkedBlockingQueue<>();
+
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final LatencyHistogram signalToPromotion = new LatencyHistogram();
+
+    private volatile Thread worker;
+
+    public WaitlistEngine(Promoter promoter) {
+        this.promoter = promoter;
+    }
+
+    public void addListener(PromotionListener listener) {
+        listeners.add(listener);
+    }
+
+    // ==================== LIFECYCLE ====================
+
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::runWorker, "unievent-waitlist");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    // ==================== SIGNALS FROM THE DAO ====================
+
+    // A GOING seat was released (or capacity may have grown): try to promote
+    public void seatFreed(int eventId) {
+        if (pendingSignals.putIfAbsent(eventId, System.nanoTime()) == null) {
+            wakeups.offer(eventId);
+        }
+    }
+
+    public void joined(int eventId, int userId, long rsvpDateMillis) {
+        PriorityQueue<Waiter> q = queues.computeIfAbsent(eventId, k -> new PriorityQueue<>(Waiter.ORDER));
+        synchronized (q) {
+            q.removeIf(w -> w.userId == userId);
+            q.add(new Waiter(userId, rsvpDateMillis));
+        }
+    }
+
+    public void left(int eventId, int userId) {
+        PriorityQueue<Waiter> q = queues.get(eventId);
+        if (q != null) {
+            synchronized (q) {
+                q.removeIf(w -> w.userId == userId);
+            }
+        }
+    }
+
+    // Waiters the DAO promoted in its own transaction (already committed)
+    public void promoted(int eventId, List<Integer> userIds) {
+        promotions.addAndGet(userIds.size());
+        for (Integer userId : userIds) {
+            left(eventId, userId);
+        }
+        for (PromotionListener l : listeners) {
+            l.onPromoted(eventId, userIds);
+        }
+    }
+
+    // Replace the whole mirror from the database: eventId -> (userId -> rsvpDate millis), oldest first
+    public void reloadMirror(Map<Integer, LinkedHashMap<Integer, Long>> waiting) {
+        Map<Integer, PriorityQueue<Waiter>> fresh = new HashMap<>();
+        for (Map.Entry<Integer, LinkedHashMap<Integer, Long>> e : waiting.entrySet()) {
+            PriorityQueue<Waiter> q = new PriorityQueue<>(Waiter.ORDER);
+            for (Map.Entry<Integer, Long> w : e.getValue().entrySet()) {
+                q.add(new Waiter(w.getKey(), w.getValue()));
+            }
+            fresh.put(e.getKey(), q);
+        }
+        queues.keySet().retainAll(fresh.keySet());
+        queues.putAll(fresh);
+    }
+
+    // ==================== QUERIES ====================
+
+    // 1-based position in the event's waitlist, or 0 when not waiting
+    public int getPosition(int eventId, int userId) {
+        PriorityQueue<Waiter> q = queues.get(eventId);
+        if (q == null) return 0;
+        List<Waiter> ordered;
+        synchronized (q) {
+            ordered = new ArrayList<>(q);
+        }
+        ordered.sort(Waiter.ORDER);
+        for (int i = 0; i < ordered.size(); i++) {
+            if (ordered.get(i).userId == userId) return i + 1;
+        }
+        return 0;
+    }
+
+    public int getQueueDepth(int eventId) {
+        PriorityQueue<Waiter> q = queues.get(eventId);
+        if (q == null) return 0;
+        synchronized (q) {
+            return q.size();
+        }
+    }
+
+    public WaitlistStats getStats() {
+        WaitlistStats stats = new WaitlistStats();
+        for (PriorityQueue<Waiter> q : queues.values()) {
+            int depth;
+            synchronized (q) {
+                depth = q.size();
+            }
+            stats.totalWaiting += depth;
+            stats.maxQueueDepth = Math.max(stats.maxQueueDepth, depth);
+            if (depth > 0) stats.eventsWithWaitlist++;
+        }
+        stats.pendingSignals = pendingSignals.size();
+        stats.promotions = promotions.get();
+        stats.promotionBatches = batches.get();
+        stats.failures = failures.get();
+        stats.signalToPromotion = signalToPromotion.snapshot();
+        return stats;
+    }
+
+    // ==================== WORKER ====================
+
+    private void runWorker() {
+        List<Integer> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(wakeups.take());
+                wakeups.drainTo(batch); // Everything that piled up while we were busy
+            } catch (InterruptedException e) {
+                return;
+            }
+            for (Integer eventId : batch) {
+                processEvent(eventId);
+            }
+            batch.clear();
+        }
+    }
+
+    private void processEvent(int eventId) {
+        Long signalledAt = pendingSignals.remove(eventId); // Later signals re-queue the event
+        try {
+            List<Integer> promoted;
+            do {
+                promoted = promoter.promote(eventId, MAX_PROMOTIONS_PER_BATCH);
+                if (promoted.isEmpty()) break;
+
+                batches.incrementAndGet();
+                if (signalledAt != null) {
+                    signalToPromotion.recordNanos(System.nanoTime() - signalledAt);
+                }
+                promoted(eventId, promoted);
+            } while (promoted.size() == MAX_PROMOTIONS_PER_BATCH); // More seats may still be free
+        } catch (SQLException | RuntimeException e) {
+            failures.incrementAndGet();
+            System.err.println("❌ Waitlist promotion failed for event " + eventId);
+            e.printStackTrace();
+        }
+    }
+
+    // Inner class for waitlist metrics
+    public static class WaitlistStats {
+        public int totalWaiting;
+        public int maxQueueDepth;
+        public int eventsWithWaitlist;
+        public int pendingSignals;
+        public long promotions;
+        public long promotionBatches;
+        public long failures;
+        public LatencyHistogram.Snapshot signalToPromotion;
+    }
+
+    private static class Waiter {
+        static final Comparator<Waiter> ORDER =
+                Comparator.comparingLong((Waiter w) -> w.joinedAt).thenComparingInt(w -> w.userId);
+
+        final int userId;
+        final long joinedAt;
+
+        Waiter(int userId, long joinedAt) {
+            this.userId = userId;
+            this.joinedAt = joinedAt;
+        }
+    }
+}
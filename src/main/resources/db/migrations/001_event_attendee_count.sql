@@ -0,0 +1,12 @@
+-- Denormalized GOING count per event, maintained by InteractionDAO.toggleRSVP
+-- (replaces the LEFT JOIN Attends ... COUNT(a.user_id) aggregate on every read).
+
+ALTER TABLE Event ADD COLUMN attendee_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from existing RSVPs (same query as InteractionDAO.repairAttendeeCounts)
+UPDATE Event e
+LEFT JOIN (SELECT event_id, COUNT(*) AS going
+           FROM Attends
+           WHERE rsvp_status = 'GOING'
+           GROUP BY event_id) a ON a.event_id = e.event_id
+SET e.attendee_count = COALESCE(a.going, 0);
@@ -0,0 +1,5 @@
+-- InteractionDAO.reserveSeat records callers who find the event full as 'WAITLISTED'.
+-- Only needed when Attends.rsvp_status is an ENUM; a VARCHAR column accepts it as is.
+
+ALTER TABLE Attends
+    MODIFY rsvp_status ENUM('GOING', 'NOT_GOING', 'MAYBE', 'WAITLISTED') NOT NULL;
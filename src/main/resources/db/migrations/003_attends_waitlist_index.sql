@@ -0,0 +1,5 @@
+-- Head-of-waitlist lookup in InteractionDAO.promoteFromWaitlist:
+--   WHERE event_id = ? AND rsvp_status = 'WAITLISTED' ORDER BY rsvp_date, user_id LIMIT ?
+-- Also serves the GOING attendee list and the attendee_count repair job.
+
+CREATE INDEX idx_attends_event_status_date ON Attends (event_id, rsvp_status, rsvp_date, user_id);
@@ -0,0 +1,5 @@
+-- Comment feed keyset pagination in InteractionDAO.getCommentsPage:
+--   WHERE event_id = ? AND (posted_at, comment_id) < (?, ?) ORDER BY posted_at DESC, comment_id DESC LIMIT ?
+-- Also serves getCommentsForEvent (ORDER BY posted_at DESC) without a filesort.
+
+CREATE INDEX idx_comment_event_posted ON Comment (event_id, posted_at, comment_id);
@@ -0,0 +1,7 @@
+-- Approval queue in AdminDAO.getPendingQueuePage:
+--   WHERE status = 'PENDING' AND (created_at, event_id) > (?, ?) ORDER BY created_at, event_id LIMIT ?
+-- The keyset cursor needs a created_at on every row.
+
+UPDATE Event SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+CREATE INDEX idx_event_status_created ON Event (status, created_at, event_id);
@@ -0,0 +1,9 @@
+-- Event.start/end are read and written as LocalDateTime (setObject/getObject) and compared as
+-- datetimes. Databases that still hold them as 'yyyy-MM-dd HH:mm:ss' strings are converted in place;
+-- where they already are DATETIME this only restates the type.
+
+ALTER TABLE Event MODIFY start DATETIME NOT NULL, MODIFY end DATETIME NOT NULL;
+
+-- Date-range listing in EventAdvancedDAO.getEventsBetween and the start-ordered search pages:
+--   WHERE status = 'APPROVED' AND start >= ? AND start < ? ORDER BY start, event_id
+CREATE INDEX idx_event_status_start ON Event (status, start, event_id);
@@ -0,0 +1,15 @@
+-- Running donation aggregate per event, maintained by DonationDAO.addDonation in the same
+-- transaction as the Donation insert (replaces SUM/AVG/MAX/COUNT over Donation on every read).
+
+CREATE TABLE DonationSummary (
+    event_id       INT PRIMARY KEY,
+    donation_count BIGINT NOT NULL DEFAULT 0,
+    total_amount   DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    max_amount     DECIMAL(10, 2) NOT NULL DEFAULT 0
+);
+
+-- Backfill from existing donations (same query as DonationDAO.reconcileDonationSummaries)
+INSERT INTO DonationSummary (event_id, donation_count, total_amount, max_amount)
+SELECT event_id, COUNT(*), SUM(amount), MAX(amount)
+FROM Donation
+GROUP BY event_id;
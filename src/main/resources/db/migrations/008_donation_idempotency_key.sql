@@ -0,0 +1,6 @@
+-- Client idempotency key for DonationDAO.addDonation(userId, eventId, amount, key).
+-- Scoped per donor; NULL (no key) never collides, so keyless donations are unaffected.
+
+ALTER TABLE Donation ADD COLUMN idempotency_key VARCHAR(64) NULL;
+
+CREATE UNIQUE INDEX uq_donation_user_key ON Donation (user_id, idempotency_key);
@@ -0,0 +1,158 @@
+package com.unievent.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.unievent.bench.BenchDataGenerator;
+import com.unievent.bench.EmbeddedDatabase;
+import com.unievent.config.DBConnection;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 1k concurrent RSVPs for a small event, against the embedded H2 database: half through
+ * reserveSeat() (joins the waitlist when full), half through reserveSeat(u, e, false), the path
+ * toggleRSVP("GOING") takes (refused when full). Capacity must hold exactly: attendee_count, the
+ * GOING rows and the successful calls all equal max_attendees, every other caller is waitlisted
+ * or refused on its own path, and nobody gets an error. Freed seats go to the waitlist first.
+ */
+class ReserveSeatConcurrencyTest {
+
+    private static final int CALLERS = 1_000;
+    private static final int CAPACITY = 25;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        // 1k callers share 20 connections: wait for one instead of failing after 5 s
+        System.setProperty("unievent.db.pool.acquireTimeoutMillis", "60000");
+        EmbeddedDatabase.start(new BenchDataGenerator.Scale(100)); // 1,000 users
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        EmbeddedDatabase.stop();
+    }
+
+    @Test
+    void concurrentRsvpsNeverOverbook() throws Exception {
+        int eventId = createEvent(CAPACITY);
+        InteractionDAO dao = new InteractionDAO();
+
+        // Counted per path, so an error on one path cannot pass for a refusal on the other
+        Map<String, AtomicInteger> reserved = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> toggled = new ConcurrentHashMap<>();
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            int userId = i + 1;
+            Thread t = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                boolean waitlist = userId % 2 == 0;
+                String outcome = dao.reserveSeat(userId, eventId, waitlist);
+                (waitlist ? reserved : toggled).computeIfAbsent(outcome, k -> new AtomicInteger()).incrementAndGet();
+            });
+            t.start();
+            callers.add(t);
+        }
+        go.countDown(); // All at once
+        for (Thread t : callers) {
+            t.join();
+        }
+
+        String outcomes = "reserveSeat " + reserved + ", toggle path " + toggled;
+        int waitlisting = CALLERS / 2;
+        int refusable = CALLERS - waitlisting;
+        assertEquals(0, count(reserved, "ERROR") + count(toggled, "ERROR"), outcomes);
+        assertEquals(CAPACITY, count(reserved, "GOING") + count(toggled, "GOING"), "seats granted: " + outcomes);
+        // Every caller that did not get a seat was waitlisted (reserveSeat) or refused (toggle path)
+        assertEquals(waitlisting, count(reserved, "GOING") + count(reserved, "WAITLISTED"), outcomes);
+        assertEquals(0, count(reserved, "FULL"), outcomes);
+        assertEquals(refusable - count(toggled, "GOING"), count(toggled, "FULL"), outcomes);
+        assertEquals(0, count(toggled, "WAITLISTED"), outcomes);
+        assertEquals(CAPACITY, queryInt("SELECT attendee_count FROM Event WHERE event_id = ?", eventId));
+        assertEquals(CAPACITY, queryInt(
+                "SELECT COUNT(*) FROM Attends WHERE event_id = ? AND rsvp_status = 'GOING'", eventId));
+        assertEquals(count(reserved, "WAITLISTED"), queryInt(
+                "SELECT COUNT(*) FROM Attends WHERE event_id = ? AND rsvp_status = 'WAITLISTED'", eventId));
+    }
+
+    @Test
+    void freedSeatsGoToTheWaitlistFirst() throws Exception {
+        int eventId = createEvent(2);
+        InteractionDAO dao = new InteractionDAO();
+        assertEquals("GOING", dao.reserveSeat(1, eventId));
+        assertEquals("GOING", dao.reserveSeat(2, eventId));
+        assertEquals("WAITLISTED", dao.reserveSeat(3, eventId));
+        assertEquals("WAITLISTED", dao.reserveSeat(4, eventId));
+
+        // A cancellation hands the seat to the head of the queue in the same transaction
+        assertTrue(dao.toggleRSVP(1, eventId, "NOT_GOING"));
+        assertEquals("GOING", dao.getUserRSVPStatus(3, eventId));
+        assertEquals("WAITLISTED", dao.reserveSeat(5, eventId)); // Newcomer queues behind user 4
+
+        // Seats that appear another way (capacity raised) still go to the queue first
+        update("UPDATE Event SET max_attendees = 4 WHERE event_id = ?", eventId);
+        assertEquals("WAITLISTED", dao.reserveSeat(6, eventId));
+        assertEquals("GOING", dao.getUserRSVPStatus(4, eventId));
+        assertEquals("GOING", dao.getUserRSVPStatus(5, eventId));
+        assertEquals(4, queryInt("SELECT attendee_count FROM Event WHERE event_id = ?", eventId));
+        assertEquals(4, queryInt(
+                "SELECT COUNT(*) FROM Attends WHERE event_id = ? AND rsvp_status = 'GOING'", eventId));
+    }
+
+    private static int count(Map<String, AtomicInteger> outcomes, String outcome) {
+        AtomicInteger n = outcomes.get(outcome);
+        return n == null ? 0 : n.get();
+    }
+
+    private static int createEvent(int capacity) throws Exception {
+        String sql = "INSERT INTO Event (user_id, venue_id, cat_id, title, description, start, end, " +
+                     "max_attendees, status, attendee_count) VALUES (1, 1, 1, 'Sold out', '', ?, ?, ?, 'APPROVED', 0)";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            LocalDateTime start = LocalDateTime.of(2030, 1, 1, 18, 0);
+            stmt.setTimestamp(1, Timestamp.valueOf(start));
+            stmt.setTimestamp(2, Timestamp.valueOf(start.plusHours(2)));
+            stmt.setInt(3, capacity);
+            stmt.executeUpdate();
+            ResultSet rs = stmt.getGeneratedKeys();
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void update(String sql, int eventId) throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, eventId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static int queryInt(String sql, int eventId) throws Exception {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, eventId);
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
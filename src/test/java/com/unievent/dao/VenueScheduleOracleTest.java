@@ -0,0 +1,204 @@
+package com.unievent.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.unievent.bench.BenchDataGenerator;
+import com.unievent.bench.EmbeddedDatabase;
+import com.unievent.cache.VenueSchedule;
+import com.unievent.config.DBConnection;
+import com.unievent.model.Venue;
+import com.unievent.service.VenueScheduler;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * VenueSchedule against the SQL overlap query on the generated data set in embedded H2: random
+ * slots per venue must give the same conflict list and "is free" answer, nextFreeSlot must match
+ * a brute-force walk over the venue's rows, and every VenueScheduler suggestion must be free in
+ * SQL and big enough. A second test moves bookings around in memory and re-checks free slots.
+ */
+class VenueScheduleOracleTest {
+
+    private static final LocalDateTime FIRST = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final int EVENTS = 5_000;
+    private static final int QUERIES = 2_000;
+
+    private static final String OVERLAP_SQL =
+            "SELECT event_id, start, end FROM Event WHERE venue_id = ? AND status IN ('PENDING', 'APPROVED') " +
+            "AND start < ? AND end > ? ORDER BY start, event_id";
+
+    private static BenchDataGenerator.Scale scale;
+
+    @BeforeAll
+    static void startDatabase() throws Exception {
+        scale = new BenchDataGenerator.Scale(EVENTS);
+        EmbeddedDatabase.start(scale);
+        new ResourceDAO().rebuildVenueSchedule();
+    }
+
+    @AfterAll
+    static void stopDatabase() {
+        EmbeddedDatabase.stop();
+    }
+
+    @Test
+    void conflictsAndFreeSlotsMatchSql() throws Exception {
+        VenueSchedule schedule = ResourceDAO.getVenueSchedule();
+        SplittableRandom random = new SplittableRandom(scale.seed);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(OVERLAP_SQL)) {
+            for (int q = 0; q < QUERIES; q++) {
+                int venueId = 1 + random.nextInt(scale.venues);
+                LocalDateTime from = randomStart(random);
+                LocalDateTime to = from.plusMinutes(30L + 30L * random.nextInt(16));
+
+                List<Integer> expected = new ArrayList<>();
+                for (long[] row : overlapping(stmt, venueId, from, to)) {
+                    expected.add((int) row[0]);
+                }
+                List<Integer> actual = new ArrayList<>();
+                for (VenueSchedule.Booking b : schedule.conflicts(venueId, from, to)) {
+                    actual.add(b.getEventId());
+                }
+                String slot = "venue " + venueId + " [" + from + ", " + to + ")";
+                assertEquals(expected, actual, slot);
+                assertEquals(expected.isEmpty(), schedule.isFree(venueId, from, to), slot);
+
+                // Earliest free start within a week, recomputed from the rows themselves
+                long duration = 30L + 30L * random.nextInt(8);
+                LocalDateTime notAfter = from.plusDays(7);
+                List<long[]> rows = overlapping(stmt, venueId, from, notAfter.plusMinutes(duration));
+                assertEquals(bruteForceNextFree(rows, from, duration, notAfter),
+                        schedule.nextFreeSlot(venueId, from, duration, notAfter),
+                        "next free " + duration + " min at venue " + venueId + " from " + from);
+            }
+        }
+    }
+
+    @Test
+    void suggestionsAreFreeAndBigEnough() throws Exception {
+        ResourceDAO resourceDAO = new ResourceDAO();
+        SplittableRandom random = new SplittableRandom(scale.seed + 1);
+
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(OVERLAP_SQL)) {
+            for (int q = 0; q < QUERIES / 10; q++) {
+                LocalDateTime windowStart = randomStart(random);
+                long duration = 30L + 30L * random.nextInt(8);
+                int attendees = 10 + random.nextInt(400);
+
+                List<VenueScheduler.Suggestion> picks = resourceDAO.suggestVenues(windowStart,
+                        windowStart.plusDays(7), duration, attendees, 10);
+
+                Set<Integer> offered = new HashSet<>();
+                boolean repeated = false;
+                for (VenueScheduler.Suggestion s : picks) {
+                    Venue v = s.getVenue();
+                    // Every venue must be offered once before any is offered again
+                    if (!offered.add(v.getVenueId())) {
+                        repeated = true;
+                    } else {
+                        assertFalse(repeated, "venue " + v.getVenueId() + " first offered after a repeat");
+                    }
+                    String slot = "venue " + v.getVenueId() + " [" + s.getStart() + ", " + s.getEnd() + ")";
+                    assertTrue(overlapping(stmt, v.getVenueId(), s.getStart(), s.getEnd()).isEmpty(), "taken: " + slot);
+                    assertTrue(v.getCapacity() >= attendees, "too small for " + attendees + ": " + slot);
+                }
+            }
+        }
+    }
+
+    @Test
+    void freeSlotsStayExactAfterBookingsMove() {
+        VenueSchedule schedule = new VenueSchedule();
+        Map<Integer, long[]> model = new HashMap<>(); // eventId -> {startSec, endSec}
+        SplittableRandom random = new SplittableRandom(7);
+        long base = VenueSchedule.toSeconds(FIRST);
+
+        for (int step = 0; step < 20_000; step++) {
+            int eventId = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                schedule.remove(eventId);
+                model.remove(eventId);
+            } else {
+                // Overlapping, touching and nested slots on one venue over two days
+                long start = base + 900L * random.nextInt(192);
+                long end = start + 900L * (1 + random.nextInt(12));
+                schedule.add(eventId, 1, VenueSchedule.fromSeconds(start), VenueSchedule.fromSeconds(end));
+                model.put(eventId, new long[]{eventId, start, end});
+            }
+
+            if (step % 10 == 0) {
+                LocalDateTime from = VenueSchedule.fromSeconds(base - 3_600 + 900L * random.nextInt(200));
+                long duration = 15L * (1 + random.nextInt(16));
+                LocalDateTime notAfter = from.plusHours(12);
+                assertEquals(bruteForceNextFree(new ArrayList<>(model.values()), from, duration, notAfter),
+                        schedule.nextFreeSlot(1, from, duration, notAfter),
+                        "step " + step + ": next free " + duration + " min from " + from);
+            }
+        }
+    }
+
+    // {event_id, start second, end second} of the bookings overlapping [from, to), earliest first
+    private static List<long[]> overlapping(PreparedStatement stmt, int venueId, LocalDateTime from, LocalDateTime to)
+            throws Exception {
+        stmt.setInt(1, venueId);
+        stmt.setTimestamp(2, Timestamp.valueOf(to));
+        stmt.setTimestamp(3, Timestamp.valueOf(from));
+        List<long[]> rows = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new long[]{rs.getInt(1),
+                        VenueSchedule.toSeconds(rs.getTimestamp(2).toLocalDateTime()),
+                        VenueSchedule.toSeconds(rs.getTimestamp(3).toLocalDateTime())});
+            }
+        }
+        return rows;
+    }
+
+    // The earliest free start is from itself or the end of some booking: try those in order
+    private static LocalDateTime bruteForceNextFree(List<long[]> rows, LocalDateTime from, long durationMinutes,
+                                                    LocalDateTime notAfter) {
+        long start = VenueSchedule.toSeconds(from);
+        long limit = VenueSchedule.toSeconds(notAfter);
+        long duration = durationMinutes * 60;
+        List<Long> candidates = new ArrayList<>();
+        candidates.add(start);
+        for (long[] row : rows) {
+            if (row[2] > start) candidates.add(row[2]);
+        }
+        candidates.sort(null);
+        for (long t : candidates) {
+            if (t > limit) break;
+            boolean free = true;
+            for (long[] row : rows) {
+                if (row[2] > row[1] && row[1] < t + duration && row[2] > t) {
+                    free = false;
+                    break;
+                }
+            }
+            if (free) return VenueSchedule.fromSeconds(t);
+        }
+        return null;
+    }
+
+    private static LocalDateTime randomStart(SplittableRandom random) {
+        return FIRST.plusMinutes(15L * random.nextInt(5 * 365 * 24 * 4));
+    }
+}